@@ -0,0 +1,69 @@
+package com.nilesh.authservice.benchmark;
+
+import com.nilesh.authservice.config.PermissionProperties;
+import com.nilesh.authservice.model.ActivityLog;
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.model.UserStatus;
+import com.nilesh.authservice.service.JwtService;
+import com.nilesh.authservice.service.PermissionRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared objects for the benchmarks, built the way the application configures them.
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "lk9CaAFyBKmSvPZT7JlC7gcn4C44RIFkQhgsDU+rATk=";
+
+    private BenchmarkFixtures() {
+    }
+
+    static PermissionRegistry permissionRegistry() {
+        PermissionProperties properties = new PermissionProperties();
+        properties.setNames(List.of("profile.read", "profile.write", "activity.read", "users.read", "users.write",
+                "users.import", "logs.read", "stats.read", "metrics.read", "clients.manage"));
+        properties.setRoles(Map.of(
+                "USER", List.of("profile.read", "profile.write", "activity.read"),
+                "ADMIN", List.of("*")));
+        return new PermissionRegistry(properties);
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService(permissionRegistry());
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900_000L);
+        return jwtService;
+    }
+
+    static User user() {
+        return User.builder()
+                .id("4f1c2a9e-6a0b-4d8e-9d2a-0c7c1f3e5b11")
+                .email("bench.user@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2oGnMRQ0x1dDJf/9w8z5Y3e")
+                .role(Role.USER)
+                .provider(AuthProvider.EMAIL)
+                .status(UserStatus.ACTIVE)
+                .avatar("https://example.com/avatar.png")
+                .lastLogin(new Date())
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .build();
+    }
+
+    static ActivityLog activityLog(User user) {
+        return ActivityLog.builder()
+                .id("9b2d7c44-1e5f-4a3b-8c6d-2f0e1a9b8c7d")
+                .user(user)
+                .action("USER_LOGIN")
+                .ipAddress("203.0.113.10")
+                .details("User logged in successfully.")
+                .timestamp(new Date())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.nilesh.authservice.benchmark;
+
+import com.nilesh.authservice.config.JwtAuthenticationFilter;
+import com.nilesh.authservice.metrics.AuthMetrics;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.service.JwtService;
+import com.nilesh.authservice.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full per-request JWT path: header parsing, token verification, user lookup
+ * (stubbed, so no database time is included) and SecurityContext population.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService();
+        User user = BenchmarkFixtures.user();
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                user.getEmail(), user.getPassword(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        filter = new JwtAuthenticationFilter(jwtService, new StubUserDetailsService(userDetails),
+                new AuthMetrics(new SimpleMeterRegistry()), BenchmarkFixtures.permissionRegistry(),
+                null); // user tokens never reach the service-client lookup
+        authorizationHeader = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    static final class StubUserDetailsService extends UserDetailsServiceImpl {
+
+        private final UserDetails userDetails;
+
+        StubUserDetailsService(UserDetails userDetails) {
+            super(null);
+            this.userDetails = userDetails;
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String email) {
+            return userDetails;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.nilesh.authservice.benchmark;
+
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    // The *WithJjwt benchmarks run the generic jjwt path that JwtService falls back to,
+    // as a reference for the specialised codec in the same report.
+
+    private JwtService jwtService;
+    private User user;
+    private UserDetails userDetails;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService();
+        user = BenchmarkFixtures.user();
+        userDetails = new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), List.of());
+        claims = Map.of("role", user.getRole().name(), "provider", user.getProvider().name());
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateTokenWithJjwt() {
+        return jwtService.generateToken(claims, user.getEmail());
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public JwtService.AccessToken parseAccessToken() {
+        return jwtService.parseAccessToken(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+
+    @Benchmark
+    public String extractUsernameWithJjwt() {
+        return jwtService.extractClaim(token, Claims::getSubject);
+    }
+}
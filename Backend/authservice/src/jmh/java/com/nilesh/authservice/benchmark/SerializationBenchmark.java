@@ -0,0 +1,85 @@
+package com.nilesh.authservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nilesh.authservice.dto.AuthResponseDto;
+import com.nilesh.authservice.dto.DtoJsonWriter;
+import com.nilesh.authservice.dto.UserDto;
+import com.nilesh.authservice.model.ActivityLog;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.service.UserJsonCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO conversion plus JSON serialization, as done for every profile, login and log
+ * response. The Jackson benchmarks use an ObjectMapper configured the way Boot configures the MVC
+ * one (ISO dates rather than timestamps); the others use the hand-written writer and the per-user cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UserJsonCache userJsonCache;
+    private User user;
+    private AuthResponseDto authResponse;
+    private ActivityLog activityLog;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        userJsonCache = new UserJsonCache(1000);
+        user = BenchmarkFixtures.user();
+        authResponse = new AuthResponseDto(BenchmarkFixtures.jwtService().generateToken(user),
+                user.getEmail(), user.getRole().name(), user.getProvider().name());
+        activityLog = BenchmarkFixtures.activityLog(user);
+    }
+
+    @Benchmark
+    public byte[] userDto() throws Exception {
+        return objectMapper.writeValueAsBytes(UserDto.from(user));
+    }
+
+    @Benchmark
+    public byte[] userDtoWriter() {
+        return DtoJsonWriter.write(UserDto.from(user));
+    }
+
+    @Benchmark
+    public byte[] userDtoCached() {
+        return userJsonCache.json(user);
+    }
+
+    @Benchmark
+    public byte[] authResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(authResponse);
+    }
+
+    @Benchmark
+    public byte[] authResponseWriter() {
+        return DtoJsonWriter.write(authResponse);
+    }
+
+    @Benchmark
+    public byte[] activityLog() throws Exception {
+        return objectMapper.writeValueAsBytes(activityLog);
+    }
+}
@@ -1,13 +1,20 @@
 package com.nilesh.authservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nilesh.authservice.metrics.AuthMetrics;
+import com.nilesh.authservice.metrics.TimedJacksonHttpMessageConverter;
 import com.nilesh.authservice.oauth2.CustomOAuth2UserService;
 import com.nilesh.authservice.oauth2.OAuth2AuthenticationFailureHandler;
 import com.nilesh.authservice.oauth2.OAuth2AuthenticationSuccessHandler;
 import com.nilesh.authservice.repository.UserRepository;
+import com.nilesh.authservice.service.ActivityLogService;
+import com.nilesh.authservice.service.CacheInvalidationBus;
+import com.nilesh.authservice.service.DashboardStatsService;
 import com.nilesh.authservice.service.JwtService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -22,10 +29,21 @@ public class AppConfig {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Replaces Boot's default JSON converter so response serialization shows up in request timings.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+
     @Bean
     public OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler(
-            JwtService jwtService, UserRepository userRepository) {
-        return new OAuth2AuthenticationSuccessHandler(authorizedRedirectUri, jwtService, userRepository);
+            JwtService jwtService, UserRepository userRepository,
+            ActivityLogService activityLogService, DashboardStatsService dashboardStatsService,
+            AuthMetrics authMetrics, CacheInvalidationBus cacheInvalidationBus) {
+        return new OAuth2AuthenticationSuccessHandler(authorizedRedirectUri, jwtService, userRepository,
+                activityLogService, dashboardStatsService, authMetrics, cacheInvalidationBus);
     }
 
     @Bean
@@ -1,6 +1,15 @@
 package com.nilesh.authservice.config;
 
+import com.nilesh.authservice.metrics.AuthMetrics;
+import com.nilesh.authservice.metrics.AuthMetrics.FilterOutcome;
+import com.nilesh.authservice.metrics.RequestTimings;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.service.AuthenticatedUser;
 import com.nilesh.authservice.service.JwtService;
+import com.nilesh.authservice.service.PermissionAuthority;
+import com.nilesh.authservice.service.PermissionRegistry;
+import com.nilesh.authservice.service.ServiceClientService;
 import com.nilesh.authservice.service.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,13 +18,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +37,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final AuthMetrics authMetrics;
+    private final PermissionRegistry permissionRegistry;
+    private final ServiceClientService serviceClientService;
 
     @Override
     protected void doFilterInternal(
@@ -32,28 +49,96 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final JwtService.AccessToken accessToken;
         final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            authMetrics.filterOutcome(FilterOutcome.NO_TOKEN);
             filterChain.doFilter(request, response);
             return;
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        long start = System.nanoTime();
+        try (RequestTimings.Phase ignored = RequestTimings.phase("jwt")) {
+            accessToken = jwtService.parseAccessToken(jwt);
+        } catch (RuntimeException e) {
+            authMetrics.jwtVerify(System.nanoTime() - start);
+            authMetrics.filterOutcome(FilterOutcome.INVALID_TOKEN);
+            throw e;
+        }
+        authMetrics.jwtVerify(System.nanoTime() - start);
+        userEmail = accessToken.subject();
+
+        if (userEmail != null && ServiceClientService.CLIENT_ROLE.equals(accessToken.role())
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticateClient(request, accessToken);
+        } else if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails;
+            long lookupStart = System.nanoTime();
+            try (RequestTimings.Phase ignored = RequestTimings.phase("user-load")) {
+                userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            } catch (UsernameNotFoundException e) {
+                authMetrics.filterOutcome(FilterOutcome.UNKNOWN_USER);
+                throw e;
+            } finally {
+                authMetrics.jwtUserLookup(System.nanoTime() - lookupStart);
+            }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            // parseAccessToken has already checked the signature and expiry; parse the token only once.
+            if (User.normalizeEmail(userEmail).equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
-                        userDetails.getAuthorities()
+                        authorities(userDetails, accessToken)
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                authMetrics.filterOutcome(FilterOutcome.AUTHENTICATED);
+            } else {
+                authMetrics.filterOutcome(FilterOutcome.INVALID_TOKEN);
             }
+        } else {
+            authMetrics.filterOutcome(userEmail == null ? FilterOutcome.INVALID_TOKEN : FilterOutcome.ALREADY_AUTHENTICATED);
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Client-credentials tokens name a service client, not a user. The client comes from the
+     * cache, and the token's permissions are cut down to what the client is still granted.
+     */
+    private void authenticateClient(HttpServletRequest request, JwtService.AccessToken accessToken) {
+        ServiceClientService.ActiveClient client;
+        long lookupStart = System.nanoTime();
+        try (RequestTimings.Phase ignored = RequestTimings.phase("user-load")) {
+            client = serviceClientService.find(accessToken.subject());
+        } finally {
+            authMetrics.jwtUserLookup(System.nanoTime() - lookupStart);
+        }
+        if (client == null) {
+            authMetrics.filterOutcome(FilterOutcome.UNKNOWN_USER);
+            return;
+        }
+        long[] permissions = accessToken.permissions() == null ? new long[0] : accessToken.permissions();
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                client.clientId(),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + ServiceClientService.CLIENT_ROLE),
+                        new PermissionAuthority(PermissionRegistry.intersect(permissions, client.permissions())))
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        authMetrics.filterOutcome(FilterOutcome.AUTHENTICATED);
+    }
+
+    /** The user's role authority plus the permission bitset from the token. */
+    private List<GrantedAuthority> authorities(UserDetails userDetails, JwtService.AccessToken accessToken) {
+        Role currentRole = userDetails instanceof AuthenticatedUser principal ? principal.getUser().getRole() : null;
+        long[] permissions = permissionRegistry.effective(accessToken.permissions(), accessToken.role(), currentRole);
+        List<GrantedAuthority> authorities = new ArrayList<>(userDetails.getAuthorities().size() + 1);
+        authorities.addAll(userDetails.getAuthorities());
+        authorities.add(new PermissionAuthority(permissions));
+        return authorities;
+    }
+}
@@ -0,0 +1,95 @@
+package com.nilesh.authservice.config;
+
+import com.nilesh.authservice.dto.ActivityEventDto;
+import com.nilesh.authservice.dto.AuthRequestDto;
+import com.nilesh.authservice.dto.AuthResponseDto;
+import com.nilesh.authservice.dto.BulkUpdateResultDto;
+import com.nilesh.authservice.dto.BulkUserUpdateDto;
+import com.nilesh.authservice.dto.ChangePasswordDto;
+import com.nilesh.authservice.dto.ClientTokenDto;
+import com.nilesh.authservice.dto.CreateServiceClientDto;
+import com.nilesh.authservice.dto.DashboardStatsDto;
+import com.nilesh.authservice.dto.ImportRowResultDto;
+import com.nilesh.authservice.dto.ImportUserDto;
+import com.nilesh.authservice.dto.LoginRequestDto;
+import com.nilesh.authservice.dto.ServiceClientDto;
+import com.nilesh.authservice.dto.UpdateAvatarDto;
+import com.nilesh.authservice.dto.UpdateUserStatusDto;
+import com.nilesh.authservice.dto.UserDto;
+import com.nilesh.authservice.dto.UserFilterDto;
+import com.nilesh.authservice.model.ActivityLog;
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.ServiceClient;
+import com.nilesh.authservice.model.Token;
+import com.nilesh.authservice.model.TokenType;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.model.UserStatus;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image. Spring's AOT processing covers beans and
+ * the types in controller signatures, but not DTOs that Jackson only meets at runtime (SSE events,
+ * CSV import rows, Lombok accessors on nested types), the JPA entities' Lombok-generated members,
+ * or jjwt, which finds its implementation classes by name and through {@code ServiceLoader}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHints.Registrar.class)
+public class NativeHints {
+
+    static final List<Class<?>> DTOS = List.of(
+            ActivityEventDto.class, AuthRequestDto.class, AuthResponseDto.class, BulkUpdateResultDto.class,
+            BulkUserUpdateDto.class, ChangePasswordDto.class, ClientTokenDto.class, CreateServiceClientDto.class,
+            DashboardStatsDto.class, ImportRowResultDto.class, ImportUserDto.class, LoginRequestDto.class,
+            ServiceClientDto.class, UpdateAvatarDto.class, UpdateUserStatusDto.class, UserDto.class,
+            UserFilterDto.class);
+
+    static final List<Class<?>> ENTITIES = List.of(
+            User.class, Token.class, ActivityLog.class, ServiceClient.class,
+            Role.class, AuthProvider.class, UserStatus.class, TokenType.class);
+
+    /** jjwt 0.11 loads these with {@code Classes.newInstance(String)}. */
+    static final List<String> JJWT_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            bindings.registerReflectionHints(hints.reflection(), DTOS.toArray(Class<?>[]::new));
+
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+
+            for (String type : JJWT_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+        }
+    }
+}
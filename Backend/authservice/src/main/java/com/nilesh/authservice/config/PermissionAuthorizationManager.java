@@ -0,0 +1,54 @@
+package com.nilesh.authservice.config;
+
+import com.nilesh.authservice.service.PermissionAuthority;
+import com.nilesh.authservice.service.PermissionRegistry;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Grants access when the caller's {@link PermissionAuthority} has one bit set. The permission
+ * name is resolved to its index when the rule is built, so a check is a single bit test.
+ */
+public final class PermissionAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final int index;
+
+    private PermissionAuthorizationManager(int index) {
+        this.index = index;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the permission is not configured.
+     */
+    public static <T> PermissionAuthorizationManager<T> hasPermission(PermissionRegistry registry, String permission) {
+        return new PermissionAuthorizationManager<>(registry.index(permission));
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, T object) {
+        return decision(authentication.get(), index);
+    }
+
+    /** Still abstract in Spring Security 6.5; {@link #authorize} is what the framework calls. */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        return decision(authentication.get(), index);
+    }
+
+    static AuthorizationDecision decision(Authentication authentication, int index) {
+        return isGranted(authentication, index) ? GRANTED : DENIED;
+    }
+
+    private static boolean isGranted(Authentication authentication, int index) {
+        PermissionAuthority permissions = PermissionAuthority.of(authentication);
+        return permissions != null && authentication.isAuthenticated() && permissions.has(index);
+    }
+}
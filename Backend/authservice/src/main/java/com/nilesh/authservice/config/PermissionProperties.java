@@ -0,0 +1,26 @@
+package com.nilesh.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Permission names and role grants from {@code auth.permissions.*}.
+ * A permission's position in {@link #names} is its bit index in issued tokens, so the list is
+ * append-only: retiring a permission means leaving its name in place, not removing it.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth.permissions")
+public class PermissionProperties {
+
+    private List<String> names = new ArrayList<>();
+
+    /** Role name to granted permission names; {@code *} grants every permission. */
+    private Map<String, List<String>> roles = new LinkedHashMap<>();
+}
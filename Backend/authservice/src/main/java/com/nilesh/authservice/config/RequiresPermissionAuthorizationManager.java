@@ -0,0 +1,57 @@
+package com.nilesh.authservice.config;
+
+import com.nilesh.authservice.service.PermissionRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Method-level counterpart of {@link PermissionAuthorizationManager} for {@link RequiresPermission}.
+ * Each method's annotation is resolved to a bit index on its first call and cached.
+ */
+class RequiresPermissionAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private final ObjectProvider<PermissionRegistry> registry;
+    private final Map<Method, Integer> indexes = new ConcurrentHashMap<>();
+
+    /** The registry is looked up lazily, so creating the advisor does not initialize it early. */
+    RequiresPermissionAuthorizationManager(ObjectProvider<PermissionRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Integer index = indexes.computeIfAbsent(invocation.getMethod(), method -> index(method, invocation.getThis()));
+        return PermissionAuthorizationManager.decision(authentication.get(), index);
+    }
+
+    /** Still abstract in Spring Security 6.5; {@link #authorize} is what the framework calls. */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return (AuthorizationDecision) authorize(authentication, invocation);
+    }
+
+    private int index(Method method, Object target) {
+        Class<?> targetClass = target == null ? method.getDeclaringClass() : AopUtils.getTargetClass(target);
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(specific, RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        if (annotation == null) {
+            throw new IllegalStateException("No @RequiresPermission on " + specific);
+        }
+        return registry.getObject().index(annotation.value());
+    }
+}
@@ -3,11 +3,14 @@ package com.nilesh.authservice.config;
 import com.nilesh.authservice.oauth2.CustomOAuth2UserService;
 import com.nilesh.authservice.oauth2.OAuth2AuthenticationFailureHandler;
 import com.nilesh.authservice.oauth2.OAuth2AuthenticationSuccessHandler;
+import com.nilesh.authservice.service.PermissionRegistry;
 import com.nilesh.authservice.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
@@ -23,6 +26,7 @@ import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -42,6 +46,7 @@ public class SecurityConfig {
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
     private final CustomOAuth2UserService customOAuth2UserService;
+    private final PermissionRegistry permissionRegistry;
 
 
     // Values from application.properties
@@ -60,8 +65,20 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (SSE completion) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**", "/oauth2/**").permitAll()
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/avatars/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/admin/users").access(permission("users.read"))
+                        .requestMatchers(HttpMethod.POST, "/api/admin/users/import").access(permission("users.import"))
+                        .requestMatchers("/api/admin/users/**").access(permission("users.write"))
+                        .requestMatchers("/api/admin/logs/**").access(permission("logs.read"))
+                        .requestMatchers("/api/admin/stats").access(permission("stats.read"))
+                        .requestMatchers("/api/admin/clients/**").access(permission("clients.manage"))
+                        // New admin endpoints need their own rule above
+                        .requestMatchers("/api/admin/**").denyAll()
+                        .requestMatchers("/actuator/**").access(permission("metrics.read"))
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -78,10 +95,13 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private PermissionAuthorizationManager<RequestAuthorizationContext> permission(String name) {
+        return PermissionAuthorizationManager.hasPermission(permissionRegistry, name);
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService);
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
@@ -1,23 +1,47 @@
 package com.nilesh.authservice.controller;
 
 import com.nilesh.authservice.dto.UpdateUserStatusDto;
+import com.nilesh.authservice.exception.UserNotFoundException;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import com.nilesh.authservice.dto.UserDto;
 import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.repository.TableVersion;
 import com.nilesh.authservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.nilesh.authservice.dto.UpdateUserStatusDto;
 import java.util.List;
-import java.util.stream.Collectors;
 import com.nilesh.authservice.model.ActivityLog;
 import com.nilesh.authservice.repository.ActivityLogRepository;
+import com.nilesh.authservice.dto.BulkUpdateResultDto;
+import com.nilesh.authservice.dto.BulkUserUpdateDto;
+import com.nilesh.authservice.dto.DashboardStatsDto;
+import com.nilesh.authservice.model.UserStatus;
+import com.nilesh.authservice.service.ActivityFeedService;
+import com.nilesh.authservice.service.CacheInvalidationBus;
+import com.nilesh.authservice.service.DashboardStatsService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.nilesh.authservice.service.UserBulkUpdateService;
+import com.nilesh.authservice.service.UserImportService;
+import com.nilesh.authservice.service.UserJsonCache;
+import org.springframework.security.core.Authentication;
+import com.nilesh.authservice.service.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -26,58 +50,140 @@ public class AdminController {
 
     private final UserRepository userRepository;
     private final ActivityLogRepository activityLogRepository;
+    private final UserImportService userImportService;
+    private final UserBulkUpdateService userBulkUpdateService;
+    private final DashboardStatsService dashboardStatsService;
+    private final ActivityFeedService activityFeedService;
+    private final UserJsonCache userJsonCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private static final int MAX_PAGE_SIZE = 200;
 
     /**
      * Endpoint to get a list of all users.
      * This endpoint is restricted to users with the 'ADMIN' role.
      * It returns a list of UserDto objects to avoid exposing sensitive entity information.
+     * With {@code page} (zero-based) it returns one page of {@code size} users ordered by id,
+     * which is what the dashboard uses; the total comes from {@code /stats}.
      *
-     * @return A ResponseEntity containing a list of UserDto objects.
+     * @return A ResponseEntity containing a JSON array of UserDto objects, assembled from cached fragments.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        // Fetch all user entities from the database
-        List<User> users = userRepository.findAll();
+    public ResponseEntity<byte[]> getAllUsers(@RequestParam(required = false) Integer page,
+                                              @RequestParam(defaultValue = "50") int size,
+                                              WebRequest webRequest) {
+        Pageable pageable = page == null ? Pageable.unpaged()
+                : PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        String name = pageable.isPaged() ? "users-" + pageable.getPageNumber() + "-" + pageable.getPageSize() : "users";
+
+        // Answer repeat reads from a count/max(updated_at) lookup before loading any rows.
+        // Pages always need it for their ETag; the full list only when the client can revalidate.
+        TableVersion version = null;
+        if (pageable.isPaged() || isConditional(webRequest)) {
+            version = userRepository.currentVersion();
+            if (webRequest.checkNotModified(ETags.of(name, version))) {
+                return null;
+            }
+        }
 
-        // Convert the list of User entities to a list of UserDto objects
-        List<UserDto> userDtos = users.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        // Fetch the user entities from the database
+        List<User> users = pageable.isPaged() ? userRepository.findAllByOrderByIdAsc(pageable) : userRepository.findAll();
 
-        return ResponseEntity.ok(userDtos);
+        // Serialize as UserDto objects, reusing each user's cached JSON
+        return ResponseEntity.ok()
+                .eTag(version != null ? ETags.of(name, version) : ETags.of(name, users, User::getUpdatedAt))
+                .cacheControl(ETags.REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userJsonCache.jsonArray(users));
     }
 
     @PutMapping("/users/{id}/status")
-    public ResponseEntity<UserDto> updateUserStatus(@PathVariable String id, @RequestBody UpdateUserStatusDto statusDto) {
+    public ResponseEntity<byte[]> updateUserStatus(@PathVariable String id, @RequestBody UpdateUserStatusDto statusDto) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
+        UserStatus previousStatus = user.getStatus();
         user.setStatus(statusDto.getStatus());
         userRepository.save(user);
+        dashboardStatsService.statusChanged(previousStatus, user.getStatus());
+        cacheInvalidationBus.userChanged(user.getId());
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(userJsonCache.json(user));
+    }
+
+    /**
+     * Applies a status and/or role change to many users in one call.
+     * Targets are either an explicit id list or every user matching a filter with at least one
+     * criterion; the calling admin is never a target.
+     *
+     * @return how many users matched and how many actually changed.
+     */
+    @PutMapping("/users/bulk")
+    public ResponseEntity<BulkUpdateResultDto> bulkUpdateUsers(
+            Authentication actor, @RequestBody BulkUserUpdateDto updateDto, HttpServletRequest request) {
+        boolean hasTargets = (updateDto.getIds() != null && !updateDto.getIds().isEmpty())
+                || (updateDto.getFilter() != null && updateDto.getFilter().hasCriteria());
+        boolean hasChanges = updateDto.getStatus() != null || updateDto.getRole() != null;
+        if (!hasTargets || !hasChanges) {
+            return ResponseEntity.badRequest().build();
+        }
+        // A service client (users.write scope) has no user row to protect from its own update
+        String actorId = actor.getPrincipal() instanceof AuthenticatedUser user ? user.getUser().getId() : null;
+        return ResponseEntity.ok(userBulkUpdateService.apply(updateDto, actorId, actor.getName(),
+                request.getRemoteAddr()));
+    }
+
+    /**
+     * Bulk-creates users from a CSV (with header row) or NDJSON request body.
+     * The body is read as a stream and a per-row NDJSON result is streamed back
+     * as each chunk is committed, so large imports never sit fully in memory.
+     */
+    @PostMapping(value = "/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean ndjson = request.getContentType().startsWith("application/x-ndjson");
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        userImportService.importUsers(request.getInputStream(), ndjson, response.getOutputStream());
+    }
 
-        return ResponseEntity.ok(convertToDto(user));
+    /**
+     * Returns the dashboard counters (users by role, status and provider, logins per hour)
+     * from memory, without touching the users or activity_logs tables.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<DashboardStatsDto> getStats() {
+        return ResponseEntity.ok(dashboardStatsService.snapshot());
     }
 
+    /**
+     * All activity-log entries with the user reduced to id and email (see {@link ActivityLog#getUser()}),
+     * so the ETag only has to follow the activity_logs table.
+     */
     @GetMapping("/logs")
-    public ResponseEntity<List<ActivityLog>> getAllLogs() {
-        return ResponseEntity.ok(activityLogRepository.findAll());
+    public ResponseEntity<List<ActivityLog>> getAllLogs(WebRequest webRequest) {
+        if (isConditional(webRequest)
+                && webRequest.checkNotModified(ETags.of("logs", activityLogRepository.currentVersion()))) {
+            return null;
+        }
+        List<ActivityLog> logs = activityLogRepository.findAll();
+        return ResponseEntity.ok()
+                .eTag(ETags.of("logs", logs, ActivityLog::getTimestamp))
+                .cacheControl(ETags.REVALIDATE)
+                .body(logs);
     }
+
+    /** Only requests carrying If-None-Match can be answered with 304, so only they pay for the version query. */
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
     /**
-     * A private helper method to convert a User entity to a UserDto.
-     * This ensures that sensitive data (like the password hash) is not included in the API response.
-     *
-     * @param user The User entity to convert.
-     * @return A UserDto object containing only the data safe to expose.
+     * Streams new activity-log entries as Server-Sent Events, so dashboards don't need to
+     * poll {@code /logs}. Reconnecting clients send {@code Last-Event-ID} to resume.
      */
-    private UserDto convertToDto(User user) {
-        UserDto userDto = new UserDto();
-        userDto.setId(user.getId());
-        userDto.setEmail(user.getEmail());
-        userDto.setRole(user.getRole());
-        userDto.setProvider(user.getProvider());
-        userDto.setStatus(user.getStatus());
-        userDto.setLastLogin(user.getLastLogin());
-        userDto.setAvatar(user.getAvatar());
-        return userDto;
+    @GetMapping(value = "/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLogs(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return activityFeedService.subscribe(lastEventId);
     }
-}
\ No newline at end of file
+
+}
@@ -2,27 +2,81 @@ package com.nilesh.authservice.controller;
 
 import com.nilesh.authservice.dto.AuthRequestDto;
 import com.nilesh.authservice.dto.AuthResponseDto;
+import com.nilesh.authservice.dto.ClientTokenDto;
+import com.nilesh.authservice.dto.DtoJsonWriter;
 import com.nilesh.authservice.dto.LoginRequestDto;
+import com.nilesh.authservice.exception.ClientCredentialsException;
 import com.nilesh.authservice.service.AuthService;
+import com.nilesh.authservice.service.ServiceClientService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final ServiceClientService serviceClientService;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDto> register(@RequestBody AuthRequestDto request) {
-        return ResponseEntity.ok(authService.register(request));
+    public ResponseEntity<byte[]> register(@RequestBody AuthRequestDto request) {
+        return json(authService.register(request));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@RequestBody LoginRequestDto request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<byte[]> login(@RequestBody LoginRequestDto request) {
+        return json(authService.login(request));
+    }
+
+    /**
+     * OAuth2 client_credentials grant for service accounts (RFC 6749, section 4.4). The client
+     * authenticates with HTTP Basic or the client_id / client_secret form fields.
+     */
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<ClientTokenDto> token(
+            @RequestParam("grant_type") String grantType,
+            @RequestParam(value = "scope", required = false) String scope,
+            @RequestParam(value = "client_id", required = false) String clientId,
+            @RequestParam(value = "client_secret", required = false) String clientSecret,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+
+        if (!"client_credentials".equals(grantType)) {
+            throw new ClientCredentialsException("unsupported_grant_type", "Only client_credentials is supported");
+        }
+        if (authorization != null && authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+            String credentials;
+            try {
+                credentials = new String(Base64.getDecoder().decode(authorization.substring(6).trim()), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new ClientCredentialsException("invalid_client", "Malformed Basic credentials");
+            }
+            int colon = credentials.indexOf(':');
+            if (colon < 0) {
+                throw new ClientCredentialsException("invalid_client", "Malformed Basic credentials");
+            }
+            // RFC 6749 2.3.1: both parts are form-urlencoded before Basic encoding
+            clientId = URLDecoder.decode(credentials.substring(0, colon), StandardCharsets.UTF_8);
+            clientSecret = URLDecoder.decode(credentials.substring(colon + 1), StandardCharsets.UTF_8);
+        }
+
+        ServiceClientService.IssuedToken token = serviceClientService.issueToken(clientId, clientSecret, scope);
+        long expiresIn = Math.max(0, (token.expiresAtMillis() - System.currentTimeMillis()) / 1000);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new ClientTokenDto(token.value(), "Bearer", expiresIn, token.scope()));
+    }
+
+    private static ResponseEntity<byte[]> json(AuthResponseDto response) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(DtoJsonWriter.write(response));
     }
 
 }
@@ -0,0 +1,54 @@
+package com.nilesh.authservice.controller;
+
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.repository.TableVersion;
+import org.springframework.http.CacheControl;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ETag values for conditional GETs. Responses that carry them are marked private and
+ * no-cache, so browsers keep a copy but revalidate it with If-None-Match on every read.
+ */
+final class ETags {
+
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /** Changes whenever the user row is written, since updated_at is bumped on every update. */
+    static String of(User user) {
+        Date version = user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+        return "\"" + user.getId() + "-" + millis(version) + "\"";
+    }
+
+    static String of(String name, TableVersion version) {
+        return of(name, version.getRowCount(), version.getLastModified());
+    }
+
+    /**
+     * Same value as {@link #of(String, TableVersion)} for a whole table, computed from rows that
+     * were loaded anyway, so a full-list response needs no separate version query.
+     */
+    static <T> String of(String name, List<T> rows, Function<T, Date> lastModified) {
+        Date latest = null;
+        for (T row : rows) {
+            Date modified = lastModified.apply(row);
+            if (modified != null && (latest == null || modified.after(latest))) {
+                latest = modified;
+            }
+        }
+        return of(name, rows.size(), latest);
+    }
+
+    private static String of(String name, long rowCount, Date lastModified) {
+        return "\"" + name + "-" + rowCount + "-" + millis(lastModified) + "\"";
+    }
+
+    private static long millis(Date date) {
+        return date == null ? 0 : date.getTime();
+    }
+}
@@ -0,0 +1,52 @@
+package com.nilesh.authservice.controller;
+
+import com.nilesh.authservice.dto.CreateServiceClientDto;
+import com.nilesh.authservice.dto.ServiceClientDto;
+import com.nilesh.authservice.service.ServiceClientService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin management of service accounts that use the client_credentials grant.
+ */
+@RestController
+@RequestMapping("/api/admin/clients")
+@RequiredArgsConstructor
+public class ServiceClientController {
+
+    private final ServiceClientService serviceClientService;
+
+    @GetMapping
+    public List<ServiceClientDto> listClients() {
+        return serviceClientService.list().stream().map(ServiceClientDto::from).toList();
+    }
+
+    /**
+     * Creates a client. The response is the only place the plain secret ever appears.
+     * A missing name or an unknown or user-only scope is a 400 with a JSON {@code message}.
+     */
+    @PostMapping
+    public ResponseEntity<ServiceClientDto> createClient(@RequestBody CreateServiceClientDto createDto) {
+        ServiceClientService.CreatedClient created = serviceClientService.create(createDto.getName(), createDto.getScopes());
+        ServiceClientDto dto = ServiceClientDto.from(created.client());
+        dto.setClientSecret(created.secret());
+        return ResponseEntity.status(HttpStatus.CREATED).body(dto);
+    }
+
+    @DeleteMapping("/{clientId}")
+    public ResponseEntity<Void> deleteClient(@PathVariable String clientId) {
+        return serviceClientService.delete(clientId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
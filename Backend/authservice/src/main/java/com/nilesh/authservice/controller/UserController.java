@@ -1,15 +1,18 @@
 package com.nilesh.authservice.controller;
 
-import com.nilesh.authservice.dto.UserDto;
+import com.nilesh.authservice.config.RequiresPermission;
+import com.nilesh.authservice.exception.UserNotFoundException;
 import com.nilesh.authservice.model.User;
 import com.nilesh.authservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import com.nilesh.authservice.dto.UpdateAvatarDto;
@@ -17,10 +20,15 @@ import com.nilesh.authservice.dto.ChangePasswordDto;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import com.nilesh.authservice.service.ActivityLogService;
+import com.nilesh.authservice.service.AuthenticatedUser;
+import com.nilesh.authservice.service.AvatarStore;
+import com.nilesh.authservice.service.CacheInvalidationBus;
+import com.nilesh.authservice.service.UserJsonCache;
 import jakarta.servlet.http.HttpServletRequest;
 import com.nilesh.authservice.model.ActivityLog;
 import com.nilesh.authservice.repository.ActivityLogRepository;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -31,39 +39,83 @@ public class UserController {
     private final UserRepository userRepository;
     private final ActivityLogService activityLogService;
     private final ActivityLogRepository activityLogRepository;
+    private final UserJsonCache userJsonCache;
+    private final AvatarStore avatarStore;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @GetMapping("/me")
-    public ResponseEntity<UserDto> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @RequiresPermission("profile.read")
+    public ResponseEntity<byte[]> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal, WebRequest webRequest) {
+        // The JWT filter already loaded the user for this request, so a 304 costs no extra query.
+        User user = principal.getUser();
+        if (webRequest.checkNotModified(ETags.of(user))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userJsonCache.json(user));
+    }
 
-        return ResponseEntity.ok(convertToDto(user));
+    /**
+     * Sets the avatar from JSON. Data URLs are moved into the avatar store so the
+     * users row only keeps a short reference; other URLs are stored as given.
+     */
+    @PutMapping(value = "/me/avatar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @RequiresPermission("profile.write")
+    public ResponseEntity<?> updateAvatar(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody UpdateAvatarDto avatarDto) throws IOException {
+
+        String avatar;
+        try {
+            avatar = avatarStore.fromSubmittedValue(avatarDto.getAvatar());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return saveAvatar(userDetails, avatar);
     }
 
-    @PutMapping("/me/avatar")
-    public ResponseEntity<UserDto> updateAvatar(
+    /**
+     * Uploads an avatar image as the raw request body, e.g. {@code fetch(url, {method: "PUT", body: file})}.
+     */
+    @PutMapping(value = "/me/avatar", consumes = {"image/png", "image/jpeg", "image/gif", "image/webp"})
+    @RequiresPermission("profile.write")
+    public ResponseEntity<?> uploadAvatar(
             @AuthenticationPrincipal UserDetails userDetails,
-            @RequestBody UpdateAvatarDto avatarDto) {
+            HttpServletRequest request) throws IOException {
 
+        String avatar;
+        try {
+            avatar = avatarStore.store(request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return saveAvatar(userDetails, avatar);
+    }
+
+    private ResponseEntity<byte[]> saveAvatar(UserDetails userDetails, String avatar) {
         User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> UserNotFoundException.INSTANCE);
 
-        user.setAvatar(avatarDto.getAvatar());
+        user.setAvatar(avatar);
         userRepository.save(user);
+        cacheInvalidationBus.userChanged(user.getId());
 
-        return ResponseEntity.ok(convertToDto(user));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(userJsonCache.json(user));
     }
 
     private final PasswordEncoder passwordEncoder;
 
     // ... add this new method
     @PostMapping("/me/password")
+    @RequiresPermission("profile.write")
     public ResponseEntity<String> changePassword(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestBody ChangePasswordDto passwordDto, HttpServletRequest request) {
 
         User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> UserNotFoundException.INSTANCE);
 
         // 1. Check if the current password is correct
         if (!passwordEncoder.matches(passwordDto.getCurrentPassword(), user.getPassword())) {
@@ -78,6 +130,7 @@ public class UserController {
         // 3. Update the password
         user.setPassword(passwordEncoder.encode(passwordDto.getNewPassword()));
         userRepository.save(user);
+        cacheInvalidationBus.userChanged(user.getId());
         activityLogService.logActivity(user, "PASSWORD_CHANGE", request.getRemoteAddr(), "User changed their password.");
 
 
@@ -85,21 +138,8 @@ public class UserController {
     }
 
     @GetMapping("/me/activity")
-    public ResponseEntity<List<ActivityLog>> getCurrentUserActivity(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return ResponseEntity.ok(activityLogRepository.findByUserOrderByTimestampDesc(user));
-    }
-
-    private UserDto convertToDto(User user) {
-        UserDto userDto = new UserDto();
-        userDto.setId(user.getId());
-        userDto.setEmail(user.getEmail());
-        userDto.setRole(user.getRole());
-        userDto.setProvider(user.getProvider());
-        userDto.setStatus(user.getStatus());
-        userDto.setLastLogin(user.getLastLogin());
-        userDto.setAvatar(user.getAvatar());
-        return userDto;
+    @RequiresPermission("activity.read")
+    public ResponseEntity<List<ActivityLog>> getCurrentUserActivity(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.ok(activityLogRepository.findByUserOrderByTimestampDesc(principal.getUser()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.nilesh.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+public class ActivityEventDto {
+    private long id;          // feed sequence number, used as the SSE event id
+    private String userId;
+    private String userEmail; // null for bulk entries
+    private String action;
+    private String ipAddress;
+    private String details;
+    private Date timestamp;
+}
@@ -0,0 +1,11 @@
+package com.nilesh.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkUpdateResultDto {
+    private int matched;
+    private int updated;
+}
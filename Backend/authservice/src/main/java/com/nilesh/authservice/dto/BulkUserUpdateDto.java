@@ -0,0 +1,15 @@
+package com.nilesh.authservice.dto;
+
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.UserStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkUserUpdateDto {
+    private List<String> ids;     // explicit target users
+    private UserFilterDto filter; // or every user matching these criteria
+    private UserStatus status;    // new status, optional
+    private Role role;            // new role, optional
+}
@@ -0,0 +1,20 @@
+package com.nilesh.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Access token response of the client_credentials grant (RFC 6749, section 5.1).
+ */
+@Data
+@AllArgsConstructor
+public class ClientTokenDto {
+    @JsonProperty("access_token")
+    private String accessToken;
+    @JsonProperty("token_type")
+    private String tokenType;
+    @JsonProperty("expires_in")
+    private long expiresIn;
+    private String scope;
+}
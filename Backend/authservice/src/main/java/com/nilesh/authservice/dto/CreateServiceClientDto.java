@@ -0,0 +1,11 @@
+package com.nilesh.authservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CreateServiceClientDto {
+    private String name;
+    private List<String> scopes; // permission names from auth.permissions.names
+}
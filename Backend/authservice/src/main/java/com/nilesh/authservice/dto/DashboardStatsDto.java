@@ -0,0 +1,26 @@
+package com.nilesh.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class DashboardStatsDto {
+    private long totalUsers;
+    private Map<String, Long> usersByRole;
+    private Map<String, Long> usersByStatus;
+    private Map<String, Long> usersByProvider;
+    private List<LoginBucket> loginsPerHour;
+    private Date reconciledAt;
+
+    @Data
+    @AllArgsConstructor
+    public static class LoginBucket {
+        private Date start;
+        private long count;
+    }
+}
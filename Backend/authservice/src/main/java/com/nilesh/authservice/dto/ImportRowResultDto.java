@@ -0,0 +1,13 @@
+package com.nilesh.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportRowResultDto {
+    private long line;
+    private String email;
+    private String status; // CREATED, SKIPPED or ERROR
+    private String message;
+}
@@ -0,0 +1,11 @@
+package com.nilesh.authservice.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportUserDto {
+    private String email;
+    private String password;     // plain text, hashed during import
+    private String passwordHash; // pre-hashed BCrypt value, used as-is
+    private String role;         // ADMIN or USER, defaults to USER
+}
@@ -0,0 +1,28 @@
+package com.nilesh.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.nilesh.authservice.model.ServiceClient;
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ServiceClientDto {
+    private String clientId;
+    private String name;
+    private List<String> scopes;
+    private Date createdAt;
+    private String clientSecret; // only set in the response that creates the client
+
+    public static ServiceClientDto from(ServiceClient client) {
+        ServiceClientDto dto = new ServiceClientDto();
+        dto.setClientId(client.getClientId());
+        dto.setName(client.getName());
+        dto.setScopes(Arrays.asList(client.getScopes().split(" ")));
+        dto.setCreatedAt(client.getCreatedAt());
+        return dto;
+    }
+}
@@ -2,7 +2,9 @@ package com.nilesh.authservice.dto;
 
 import com.nilesh.authservice.model.AuthProvider;
 import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
 import com.nilesh.authservice.model.UserStatus;
+import com.nilesh.authservice.service.AvatarStore;
 import lombok.Data;
 
 import java.util.Date;
@@ -16,4 +18,20 @@ public class UserDto {
     private UserStatus status;
     private Date lastLogin;
     private String avatar;
+
+    /**
+     * Copies only the fields that are safe to expose; the password hash never leaves the entity.
+     * Stored avatar references are turned into their public URL.
+     */
+    public static UserDto from(User user) {
+        UserDto userDto = new UserDto();
+        userDto.setId(user.getId());
+        userDto.setEmail(user.getEmail());
+        userDto.setRole(user.getRole());
+        userDto.setProvider(user.getProvider());
+        userDto.setStatus(user.getStatus());
+        userDto.setLastLogin(user.getLastLogin());
+        userDto.setAvatar(AvatarStore.publicUrl(user.getAvatar()));
+        return userDto;
+    }
 }
\ No newline at end of file
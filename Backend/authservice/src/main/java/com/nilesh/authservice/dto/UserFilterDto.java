@@ -0,0 +1,18 @@
+package com.nilesh.authservice.dto;
+
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.UserStatus;
+import lombok.Data;
+
+@Data
+public class UserFilterDto {
+    private Role role;
+    private UserStatus status;
+    private AuthProvider provider;
+
+    /** A filter without criteria would match every user, so bulk updates reject it. */
+    public boolean hasCriteria() {
+        return role != null || status != null || provider != null;
+    }
+}
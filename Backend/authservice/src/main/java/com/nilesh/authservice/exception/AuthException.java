@@ -0,0 +1,23 @@
+package com.nilesh.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base for expected authentication and account failures: wrong passwords, duplicate sign-ups,
+ * unknown users. They are ordinary traffic rather than bugs, so they carry no stack trace and
+ * constant ones are preallocated. {@link GlobalExceptionHandler} answers with {@link #getStatus()}.
+ */
+public abstract class AuthException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    protected AuthException(HttpStatus status, String message) {
+        // No suppression and no stack trace: instances are cheap to throw and safe to share
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,21 @@
+package com.nilesh.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A refused client_credentials request, carrying the OAuth2 error code for the response
+ * (RFC 6749, section 5.2). {@code invalid_client} is a 401, everything else a 400.
+ */
+public class ClientCredentialsException extends AuthException {
+
+    private final String error;
+
+    public ClientCredentialsException(String error, String message) {
+        super("invalid_client".equals(error) ? HttpStatus.UNAUTHORIZED : HttpStatus.BAD_REQUEST, message);
+        this.error = error;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
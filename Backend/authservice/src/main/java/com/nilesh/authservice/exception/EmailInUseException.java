@@ -0,0 +1,12 @@
+package com.nilesh.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public final class EmailInUseException extends AuthException {
+
+    public static final EmailInUseException INSTANCE = new EmailInUseException();
+
+    private EmailInUseException() {
+        super(HttpStatus.CONFLICT, "Email already in use");
+    }
+}
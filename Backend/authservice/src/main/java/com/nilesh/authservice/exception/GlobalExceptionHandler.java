@@ -1,24 +1,92 @@
 package com.nilesh.authservice.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
 import java.util.Map;
 
+@Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final RateLimitedLog failureLog;
+
+    public GlobalExceptionHandler(@Value("${auth.failure-log.per-minute:20}") int failureLogPerMinute) {
+        this.failureLog = new RateLimitedLog(failureLogPerMinute, Duration.ofMinutes(1).toNanos());
+    }
+
+    /** Denied {@code @RequiresPermission} checks; without this they would fall into the 500 handler below. */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Object> handleAccessDenied(AccessDeniedException ex) {
+        return new ResponseEntity<>(Map.of("message", "Access denied"), HttpStatus.FORBIDDEN);
+    }
+
+    /** OAuth2 token endpoint errors, in the RFC 6749 section 5.2 format. */
+    @ExceptionHandler(ClientCredentialsException.class)
+    public ResponseEntity<Object> handleClientCredentials(ClientCredentialsException ex, HttpServletRequest request) {
+        logFailure(ex, request);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatus())
+                .cacheControl(CacheControl.noStore());
+        if (ex.getStatus() == HttpStatus.UNAUTHORIZED) {
+            response.header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"authservice\"");
+        }
+        return response.body(Map.of("error", ex.getError(), "error_description", ex.getMessage()));
+    }
+
+    /** Expected failures such as bad credentials; logged at info, and only a few per minute per type. */
+    @ExceptionHandler(AuthException.class)
+    public ResponseEntity<Object> handleAuthException(AuthException ex, HttpServletRequest request) {
+        logFailure(ex, request);
+        return new ResponseEntity<>(Map.of("message", ex.getMessage()), ex.getStatus());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Object> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        return new ResponseEntity<>(Map.of("message", "Malformed request body"), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Input the services reject, such as a CSV import without an email column. The explicit content
+     * type overrides one an endpoint may already have set for its own streamed response.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", ex.getMessage() == null ? "Invalid request" : ex.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<Object> handleRuntimeException(RuntimeException ex) {
-        // You can add more sophisticated logging here
-        System.err.println("An exception occurred: " + ex.getMessage());
+    public ResponseEntity<Object> handleRuntimeException(RuntimeException ex, HttpServletRequest request) {
+        if (ex instanceof ErrorResponse errorResponse) {
+            return new ResponseEntity<>(Map.of("message", ex.getMessage()), errorResponse.getStatusCode());
+        }
+        long suppressed = failureLog.acquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.error("request_failed method={} path={} suppressed={}",
+                    request.getMethod(), request.getRequestURI(), suppressed, ex);
+        }
+        return new ResponseEntity<>(Map.of("message", "Internal server error"), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 
-        // Return a proper JSON error response with a 401 Unauthorized status
-        return new ResponseEntity<>(
-                Map.of("message", ex.getMessage()),
-                HttpStatus.UNAUTHORIZED
-        );
+    private void logFailure(AuthException ex, HttpServletRequest request) {
+        long suppressed = failureLog.acquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.info("auth_failure type={} status={} method={} path={} remote={} suppressed={}",
+                    ex.getClass().getSimpleName(), ex.getStatus().value(), request.getMethod(),
+                    request.getRequestURI(), request.getRemoteAddr(), suppressed);
+        }
     }
-}
\ No newline at end of file
+}
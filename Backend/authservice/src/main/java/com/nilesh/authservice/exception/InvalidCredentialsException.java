@@ -0,0 +1,16 @@
+package com.nilesh.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Unknown email or wrong password. Both give the same message so the response does not reveal
+ * which accounts exist.
+ */
+public final class InvalidCredentialsException extends AuthException {
+
+    public static final InvalidCredentialsException INSTANCE = new InvalidCredentialsException();
+
+    private InvalidCredentialsException() {
+        super(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+    }
+}
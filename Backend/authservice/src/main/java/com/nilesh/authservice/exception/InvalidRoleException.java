@@ -0,0 +1,18 @@
+package com.nilesh.authservice.exception;
+
+import com.nilesh.authservice.model.Role;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+
+/**
+ * Registration names a role that does not exist, or none at all.
+ */
+public final class InvalidRoleException extends AuthException {
+
+    public static final InvalidRoleException INSTANCE = new InvalidRoleException();
+
+    private InvalidRoleException() {
+        super(HttpStatus.BAD_REQUEST, "Role must be one of " + Arrays.toString(Role.values()));
+    }
+}
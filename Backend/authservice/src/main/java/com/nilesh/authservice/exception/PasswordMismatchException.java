@@ -0,0 +1,15 @@
+package com.nilesh.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Password and confirmation differ on registration.
+ */
+public final class PasswordMismatchException extends AuthException {
+
+    public static final PasswordMismatchException INSTANCE = new PasswordMismatchException();
+
+    private PasswordMismatchException() {
+        super(HttpStatus.BAD_REQUEST, "Passwords do not match");
+    }
+}
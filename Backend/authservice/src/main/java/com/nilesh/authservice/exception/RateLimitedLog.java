@@ -0,0 +1,48 @@
+package com.nilesh.authservice.exception;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code limit} log lines per key through in each window. Lines over the limit are
+ * only counted, and the count is handed to the next line that gets through, so a flood of
+ * failures shows up as a few lines with {@code suppressed=N} instead of one line per request.
+ * Keys should come from a small fixed set, such as exception types.
+ */
+final class RateLimitedLog {
+
+    private static final class Window {
+        final AtomicLong start = new AtomicLong(System.nanoTime());
+        final AtomicInteger count = new AtomicInteger();
+        final LongAdder suppressed = new LongAdder();
+    }
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final int limit;
+    private final long windowNanos;
+
+    RateLimitedLog(int limit, long windowNanos) {
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * @return -1 if this line should be dropped, otherwise how many were dropped since the last one.
+     */
+    long acquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.nanoTime();
+        long start = window.start.get();
+        if (now - start >= windowNanos && window.start.compareAndSet(start, now)) {
+            window.count.set(0);
+        }
+        if (window.count.incrementAndGet() > limit) {
+            window.suppressed.increment();
+            return -1;
+        }
+        return window.suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,12 @@
+package com.nilesh.authservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public final class UserNotFoundException extends AuthException {
+
+    public static final UserNotFoundException INSTANCE = new UserNotFoundException("User not found");
+
+    public UserNotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.nilesh.authservice.exception;
+
+import com.nilesh.authservice.model.AuthProvider;
+import org.springframework.http.HttpStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Password login for an account that signs in through an OAuth2 provider.
+ */
+public final class WrongProviderException extends AuthException {
+
+    private static final Map<AuthProvider, WrongProviderException> INSTANCES = new EnumMap<>(AuthProvider.class);
+
+    static {
+        for (AuthProvider provider : AuthProvider.values()) {
+            INSTANCES.put(provider, new WrongProviderException(provider));
+        }
+    }
+
+    private WrongProviderException(AuthProvider provider) {
+        super(HttpStatus.UNAUTHORIZED, "Please login using " + provider.name());
+    }
+
+    public static WrongProviderException of(AuthProvider provider) {
+        return INSTANCES.get(provider);
+    }
+}
@@ -0,0 +1,140 @@
+package com.nilesh.authservice.metrics;
+
+import com.nilesh.authservice.model.AuthProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Timers and counters for the authentication hot paths.
+ * Every meter is registered up front with a fixed, low-cardinality tag set, so recording
+ * is a map lookup plus an atomic update and never builds meter ids on the request path.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum FilterOutcome { NO_TOKEN, AUTHENTICATED, INVALID_TOKEN, UNKNOWN_USER, ALREADY_AUTHENTICATED }
+
+    public enum LoginOutcome { SUCCESS, UNKNOWN_EMAIL, WRONG_PROVIDER, BAD_PASSWORD }
+
+    public enum RegisterOutcome { SUCCESS, DUPLICATE_EMAIL, PASSWORD_MISMATCH, INVALID_ROLE }
+
+    public enum PasswordOperation { ENCODE, MATCHES }
+
+    public enum ClientTokenOutcome { ISSUED, REUSED, INVALID_CLIENT, INVALID_SCOPE }
+
+    public enum DbOperation { FIND_USER, EXISTS_EMAIL, SAVE_USER }
+
+    private final Timer jwtVerify;
+    private final Timer jwtUserLookup;
+    private final Timer activityLogWrite;
+    private final Map<FilterOutcome, Counter> filterOutcomes;
+    private final Map<LoginOutcome, Counter> loginOutcomes;
+    private final Map<RegisterOutcome, Counter> registerOutcomes;
+    private final Map<ClientTokenOutcome, Counter> clientTokenOutcomes;
+    private final Map<PasswordOperation, Timer> passwordTimers;
+    private final Map<DbOperation, Timer> dbTimers;
+    private final Map<AuthProvider, Timer> oauth2NewUser;
+    private final Map<AuthProvider, Timer> oauth2ExistingUser;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.jwtVerify = Timer.builder("auth.jwt.verify")
+                .description("JWT parse and signature/expiry check in the authentication filter")
+                .register(registry);
+        this.jwtUserLookup = Timer.builder("auth.jwt.user.lookup")
+                .description("User lookup for an authenticated request")
+                .register(registry);
+        this.activityLogWrite = Timer.builder("auth.activity.log.write")
+                .description("Activity log insert")
+                .register(registry);
+        this.filterOutcomes = byEnum(FilterOutcome.class, outcome -> Counter.builder("auth.jwt.filter")
+                .tag("outcome", tagValue(outcome))
+                .register(registry));
+        this.loginOutcomes = byEnum(LoginOutcome.class, outcome -> Counter.builder("auth.login")
+                .tag("outcome", tagValue(outcome))
+                .register(registry));
+        this.registerOutcomes = byEnum(RegisterOutcome.class, outcome -> Counter.builder("auth.register")
+                .tag("outcome", tagValue(outcome))
+                .register(registry));
+        this.clientTokenOutcomes = byEnum(ClientTokenOutcome.class, outcome -> Counter.builder("auth.client.token")
+                .tag("outcome", tagValue(outcome))
+                .register(registry));
+        this.passwordTimers = byEnum(PasswordOperation.class, operation -> Timer.builder("auth.password")
+                .description("Password encoder time")
+                .tag("operation", tagValue(operation))
+                .register(registry));
+        this.dbTimers = byEnum(DbOperation.class, operation -> Timer.builder("auth.db")
+                .description("Repository calls on the login and registration paths")
+                .tag("operation", tagValue(operation))
+                .register(registry));
+        this.oauth2NewUser = byEnum(AuthProvider.class, provider -> oauth2Timer(registry, provider, "new"));
+        this.oauth2ExistingUser = byEnum(AuthProvider.class, provider -> oauth2Timer(registry, provider, "existing"));
+    }
+
+    public void jwtVerify(long nanos) {
+        jwtVerify.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void jwtUserLookup(long nanos) {
+        jwtUserLookup.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void filterOutcome(FilterOutcome outcome) {
+        filterOutcomes.get(outcome).increment();
+    }
+
+    public void loginOutcome(LoginOutcome outcome) {
+        loginOutcomes.get(outcome).increment();
+    }
+
+    public void registerOutcome(RegisterOutcome outcome) {
+        registerOutcomes.get(outcome).increment();
+    }
+
+    public void clientToken(ClientTokenOutcome outcome) {
+        clientTokenOutcomes.get(outcome).increment();
+    }
+
+    public void password(PasswordOperation operation, long nanos) {
+        passwordTimers.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void db(DbOperation operation, long nanos) {
+        dbTimers.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void activityLogWrite(long nanos) {
+        activityLogWrite.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void oauth2Login(AuthProvider provider, boolean newUser, long nanos) {
+        (newUser ? oauth2NewUser : oauth2ExistingUser).get(provider).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer oauth2Timer(MeterRegistry registry, AuthProvider provider, String user) {
+        return Timer.builder("auth.oauth2.login")
+                .description("OAuth2 success handling: user upsert, token issue and redirect")
+                .tag("provider", tagValue(provider))
+                .tag("user", user)
+                .register(registry);
+    }
+
+    private static <E extends Enum<E>, M> Map<E, M> byEnum(Class<E> type, Function<E, M> factory) {
+        Map<E, M> meters = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            meters.put(value, factory.apply(value));
+        }
+        return meters;
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,29 @@
+package com.nilesh.authservice.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a "db" {@link RequestTimings} phase around every Spring Data repository call by
+ * attaching an interceptor to the repository proxies Spring Data already creates.
+ */
+@Component
+public class RepositoryTimingPostProcessor implements BeanPostProcessor {
+
+    private static final MethodInterceptor DB_PHASE = invocation -> {
+        try (RequestTimings.Phase ignored = RequestTimings.phase("db")) {
+            return invocation.proceed();
+        }
+    };
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, DB_PHASE);
+        }
+        return bean;
+    }
+}
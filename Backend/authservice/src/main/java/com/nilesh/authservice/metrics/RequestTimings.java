@@ -0,0 +1,121 @@
+package com.nilesh.authservice.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Phase timings for the request running on the current thread.
+ * {@link ServerTimingFilter} attaches an instance only when the request is sampled or the
+ * Server-Timing header is enabled; otherwise {@link #phase(String)} returns a shared no-op
+ * handle, so instrumented code pays one ThreadLocal read and allocates nothing.
+ *
+ * <pre>
+ * try (RequestTimings.Phase ignored = RequestTimings.phase("jwt")) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class RequestTimings {
+
+    /** A running phase; closing it records the duration. */
+    public interface Phase extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Phase NOOP = () -> { };
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startEpochNanos;
+    private final long startNanos;
+    private String[] names = new String[16];
+    private long[] starts = new long[16];
+    private long[] durations = new long[16];
+    private int count;
+
+    private RequestTimings() {
+        this.startEpochNanos = System.currentTimeMillis() * 1_000_000L;
+        this.startNanos = System.nanoTime();
+    }
+
+    public static Phase phase(String name) {
+        RequestTimings timings = CURRENT.get();
+        return timings == null ? NOOP : timings.begin(name);
+    }
+
+    static RequestTimings attach() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void detach() {
+        CURRENT.remove();
+    }
+
+    private Phase begin(String name) {
+        if (count == names.length) {
+            names = Arrays.copyOf(names, count * 2);
+            starts = Arrays.copyOf(starts, count * 2);
+            durations = Arrays.copyOf(durations, count * 2);
+        }
+        int index = count++;
+        names[index] = name;
+        starts[index] = System.nanoTime();
+        durations[index] = -1;
+        return () -> durations[index] = System.nanoTime() - starts[index];
+    }
+
+    int size() {
+        return count;
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    /** Wall-clock start of a phase, in nanoseconds since the epoch. */
+    long startEpochNanos(int index) {
+        return startEpochNanos + (starts[index] - startNanos);
+    }
+
+    /** Duration of a phase in nanoseconds, or -1 if it has not finished. */
+    long duration(int index) {
+        return durations[index];
+    }
+
+    long requestStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats finished phases as a Server-Timing header value, summing repeated phases
+     * (for example several repository calls) into one entry.
+     */
+    String serverTimingHeader() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (durations[i] >= 0) {
+                totals.merge(names[i], durations[i], Long::sum);
+            }
+        }
+        StringBuilder header = new StringBuilder();
+        totals.forEach((name, nanos) -> {
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+        });
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append("total;dur=").append(String.format(Locale.ROOT, "%.3f", elapsedNanos() / 1_000_000.0));
+        return header.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package com.nilesh.authservice.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records per-request phase timings (see {@link RequestTimings}) when the request is sampled
+ * or the Server-Timing header is enabled. Runs before the security chain so JWT verification
+ * and user loading are included.
+ * <p>
+ * The header is added just before the response commits, so it covers everything up to the start
+ * of the response body; the serialization phase only appears in exported traces. A request is
+ * sampled with {@code timing.trace.sample-ratio}; an inbound W3C {@code traceparent} only supplies
+ * the trace and parent ids. Its sampled flag decides instead when {@code timing.trace.honor-parent}
+ * is on, which is off by default so callers can't force exports the ratio would not allow.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Pattern TRACEPARENT = Pattern.compile("^00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})$");
+
+    private final TraceFileExporter traceFileExporter;
+
+    @Value("${timing.server-timing.enabled:false}")
+    private boolean serverTimingEnabled;
+
+    @Value("${timing.trace.sample-ratio:0.0}")
+    private double sampleRatio;
+
+    @Value("${timing.trace.honor-parent:false}")
+    private boolean honorParent;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String traceId = null;
+        String parentSpanId = null;
+        boolean sampled;
+        String traceparent = request.getHeader("traceparent");
+        Matcher matcher = traceparent == null ? null : TRACEPARENT.matcher(traceparent);
+        if (matcher != null && matcher.matches()) {
+            traceId = matcher.group(1);
+            parentSpanId = matcher.group(2);
+        }
+        if (honorParent && traceId != null) {
+            sampled = (Integer.parseInt(matcher.group(3), 16) & 1) == 1;
+        } else {
+            sampled = sampleRatio > 0 && ThreadLocalRandom.current().nextDouble() < sampleRatio;
+        }
+
+        if (!sampled && !serverTimingEnabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.attach();
+        ServerTimingResponse timedResponse = serverTimingEnabled ? new ServerTimingResponse(response, timings) : null;
+        try {
+            filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+        } finally {
+            RequestTimings.detach();
+            if (timedResponse != null) {
+                timedResponse.addServerTimingHeader();
+            }
+            if (sampled) {
+                traceFileExporter.export(timings, traceId != null ? traceId : TraceFileExporter.newTraceId(), parentSpanId,
+                        request.getMethod() + " " + request.getRequestURI(), response.getStatus());
+            }
+        }
+    }
+
+    /**
+     * Adds the Server-Timing header the first time the body is opened or the response is
+     * otherwise about to commit, while headers can still be set.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private boolean headerAdded;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        private void addServerTimingHeader() {
+            if (!headerAdded && !isCommitted()) {
+                headerAdded = true;
+                setHeader("Server-Timing", timings.serverTimingHeader());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTimingHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
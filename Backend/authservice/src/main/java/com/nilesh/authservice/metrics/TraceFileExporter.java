@@ -0,0 +1,150 @@
+package com.nilesh.authservice.metrics;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes sampled request traces as OTLP/JSON lines (one ExportTraceServiceRequest per line),
+ * the format read by the OpenTelemetry Collector's otlpjsonfile receiver. File I/O happens on
+ * a background thread; when its queue is full, traces are dropped rather than slowing requests down.
+ */
+@Slf4j
+@Component
+public class TraceFileExporter {
+
+    private final Path file;
+    private final BlockingQueue<String> queue;
+    private Thread writer; // started on the first export, guarded by this
+
+    public TraceFileExporter(@Value("${timing.trace.export-file:traces.otlp.jsonl}") String file,
+                             @Value("${timing.trace.queue-size:10000}") int queueSize) {
+        this.file = Path.of(file);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * Exports the request as a root server span with one child span per recorded phase.
+     *
+     * @param parentSpanId the caller's span id from {@code traceparent}, or null for a new trace.
+     */
+    void export(RequestTimings timings, String traceId, String parentSpanId, String name, int status) {
+        String rootSpanId = newSpanId();
+        long end = timings.requestStartEpochNanos() + timings.elapsedNanos();
+
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[")
+                .append("{\"key\":\"service.name\",\"value\":{\"stringValue\":\"authservice\"}}]},")
+                .append("\"scopeSpans\":[{\"scope\":{\"name\":\"com.nilesh.authservice\"},\"spans\":[");
+        appendSpan(json, traceId, rootSpanId, parentSpanId, name, 2, timings.requestStartEpochNanos(), end,
+                "{\"key\":\"http.response.status_code\",\"value\":{\"intValue\":\"" + status + "\"}}");
+        for (int i = 0; i < timings.size(); i++) {
+            long duration = timings.duration(i);
+            if (duration < 0) {
+                continue;
+            }
+            long start = timings.startEpochNanos(i);
+            json.append(',');
+            appendSpan(json, traceId, newSpanId(), rootSpanId, timings.name(i), 1, start, start + duration, null);
+        }
+        json.append("]}]}]}");
+
+        startWriter();
+        if (!queue.offer(json.toString())) {
+            log.debug("Trace export queue full, dropping trace {}", traceId);
+        }
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return hex(random.nextLong()) + hex(random.nextLong());
+    }
+
+    private static String newSpanId() {
+        return hex(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static String hex(long value) {
+        String hex = Long.toHexString(value);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static void appendSpan(StringBuilder json, String traceId, String spanId, String parentSpanId,
+                                   String name, int kind, long startNanos, long endNanos, String attributes) {
+        json.append("{\"traceId\":\"").append(traceId)
+                .append("\",\"spanId\":\"").append(spanId).append('"');
+        if (parentSpanId != null) {
+            json.append(",\"parentSpanId\":\"").append(parentSpanId).append('"');
+        }
+        json.append(",\"name\":\"");
+        escape(json, name);
+        json.append("\",\"kind\":").append(kind)
+                .append(",\"startTimeUnixNano\":\"").append(startNanos)
+                .append("\",\"endTimeUnixNano\":\"").append(endNanos).append('"');
+        if (attributes != null) {
+            json.append(",\"attributes\":[").append(attributes).append(']');
+        }
+        json.append('}');
+    }
+
+    private static void escape(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (writer == null) {
+            writer = new Thread(this::writeLoop, "trace-exporter");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    private void writeLoop() {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (!Thread.currentThread().isInterrupted()) {
+                String line = queue.poll(1, TimeUnit.SECONDS);
+                if (line == null) {
+                    continue;
+                }
+                out.write(line);
+                out.newLine();
+                if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Trace export to {} stopped: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.nilesh.authservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,7 +36,12 @@ public class ActivityLog {
     @Column(nullable = false, updatable = false)
     private Date timestamp;
     
+    /**
+     * Serialized as id and email only. Neither changes after sign-up, so a log entry's JSON depends on
+     * the activity_logs row alone and the {@code /logs} ETag stays valid when a user is updated.
+     */
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIncludeProperties({"id", "email"})
     private User user;
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.nilesh.authservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.util.Date;
+
+/**
+ * A backend service that obtains tokens with the client_credentials grant.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "service_clients")
+public class ServiceClient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(unique = true, nullable = false)
+    private String clientId;
+
+    // BCrypt hash; the plain secret is only shown once, when the client is created
+    @Column(nullable = false)
+    private String secretHash;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Space-separated permission names the client may request
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String scopes;
+
+    @CreationTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(updatable = false)
+    private Date createdAt;
+
+    @UpdateTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+}
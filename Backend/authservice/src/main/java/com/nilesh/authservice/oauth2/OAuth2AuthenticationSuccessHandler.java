@@ -1,7 +1,11 @@
 package com.nilesh.authservice.oauth2;
 
+import com.nilesh.authservice.metrics.AuthMetrics;
 import com.nilesh.authservice.model.*;
 import com.nilesh.authservice.repository.UserRepository;
+import com.nilesh.authservice.service.ActivityLogService;
+import com.nilesh.authservice.service.CacheInvalidationBus;
+import com.nilesh.authservice.service.DashboardStatsService;
 import com.nilesh.authservice.service.JwtService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,23 +15,35 @@ import org.springframework.security.web.authentication.AuthenticationSuccessHand
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public class OAuth2AuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
     private final String redirectUri;
     private final JwtService jwtService;
     private final UserRepository userRepository;
-
-    public OAuth2AuthenticationSuccessHandler(String redirectUri, JwtService jwtService, UserRepository userRepository) {
+    private final ActivityLogService activityLogService;
+    private final DashboardStatsService dashboardStatsService;
+    private final AuthMetrics authMetrics;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public OAuth2AuthenticationSuccessHandler(String redirectUri, JwtService jwtService, UserRepository userRepository,
+                                              ActivityLogService activityLogService, DashboardStatsService dashboardStatsService,
+                                              AuthMetrics authMetrics, CacheInvalidationBus cacheInvalidationBus) {
         this.redirectUri = redirectUri;
         this.jwtService = jwtService;
         this.userRepository = userRepository;
+        this.activityLogService = activityLogService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.authMetrics = authMetrics;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication)
             throws IOException, ServletException {
 
+        long start = System.nanoTime();
         CustomOAuth2User oAuth2User = (CustomOAuth2User) authentication.getPrincipal();
         String email = oAuth2User.getEmail();
 
@@ -53,22 +69,26 @@ public class OAuth2AuthenticationSuccessHandler implements AuthenticationSuccess
         AuthProvider provider = AuthProvider.valueOf(registrationId.toUpperCase());
 
         // Find user by email. If not present, create a new one.
-        User user = userRepository.findByEmail(email)
-                .orElseGet(() -> createNewUser(email, provider));
+        Optional<User> existingUser = userRepository.findByEmail(User.normalizeEmail(email));
+        User user = existingUser.orElseGet(() -> createNewUser(email, provider));
 
         // Update provider if user exists but logged in with a new OAuth method
         if (user.getProvider() != provider) {
+            dashboardStatsService.providerChanged(user.getProvider(), provider);
             user.setProvider(provider);
             userRepository.save(user);
+            cacheInvalidationBus.userChanged(user.getId());
         }
 
         String token = jwtService.generateToken(user);
+        activityLogService.logActivity(user, "USER_LOGIN", request.getRemoteAddr(), "User logged in with " + provider.name() + ".");
 
         String targetUrl = UriComponentsBuilder.fromUriString(redirectUri)
                 .queryParam("token", token)
                 .build().toUriString();
 
         response.sendRedirect(targetUrl);
+        authMetrics.oauth2Login(provider, existingUser.isEmpty(), System.nanoTime() - start);
     }
 
     private User createNewUser(String email, AuthProvider provider) {
@@ -78,6 +98,8 @@ public class OAuth2AuthenticationSuccessHandler implements AuthenticationSuccess
                 .provider(provider)
                 .status(UserStatus.ACTIVE)
                 .build();
-        return userRepository.save(newUser);
+        User saved = userRepository.save(newUser);
+        dashboardStatsService.userCreated(saved.getRole(), saved.getStatus(), saved.getProvider());
+        return saved;
     }
 }
\ No newline at end of file
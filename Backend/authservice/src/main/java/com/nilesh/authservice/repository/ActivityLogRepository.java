@@ -1,12 +1,25 @@
 package com.nilesh.authservice.repository;
 
 import com.nilesh.authservice.model.ActivityLog;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, String> {
+
+    // ActivityLog.user is eager; fetch it in the same query instead of one select per user.
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<ActivityLog> findAll();
+
+    @EntityGraph(attributePaths = "user")
     List<ActivityLog> findByUserOrderByTimestampDesc(com.nilesh.authservice.model.User user);
-}
\ No newline at end of file
+
+    /** count(*) rather than count(id), so an index-only scan of the timestamp index answers both aggregates. */
+    @Query("select count(*) as rowCount, max(a.timestamp) as lastModified from ActivityLog a")
+    TableVersion currentVersion();
+}
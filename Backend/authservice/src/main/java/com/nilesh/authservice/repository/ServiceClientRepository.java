@@ -0,0 +1,12 @@
+package com.nilesh.authservice.repository;
+
+import com.nilesh.authservice.model.ServiceClient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ServiceClientRepository extends JpaRepository<ServiceClient, String> {
+    Optional<ServiceClient> findByClientId(String clientId);
+}
@@ -0,0 +1,14 @@
+package com.nilesh.authservice.repository;
+
+import java.util.Date;
+
+/**
+ * Cheap change marker for a whole table: row count plus the newest modification time.
+ * Used to answer conditional GETs on list endpoints without loading the rows.
+ */
+public interface TableVersion {
+
+    long getRowCount();
+
+    Date getLastModified();
+}
@@ -0,0 +1,31 @@
+package com.nilesh.authservice.repository;
+
+import com.nilesh.authservice.model.Token;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+@Repository
+public interface TokenRepository extends JpaRepository<Token, String> {
+
+    @Query(value = "SELECT count(*) FROM tokens WHERE expires_at < :now OR revoked", nativeQuery = true)
+    long countReapable(@Param("now") Date now);
+
+    /**
+     * Deletes at most {@code limit} expired or revoked tokens. The inner select walks the
+     * expires_at / revoked indexes, so each call touches a bounded number of rows and
+     * only holds row locks for that short chunk.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM tokens WHERE ctid IN (
+                SELECT ctid FROM tokens WHERE expires_at < :now OR revoked LIMIT :limit
+            )""", nativeQuery = true)
+    int deleteReapableChunk(@Param("now") Date now, @Param("limit") int limit);
+}
@@ -1,13 +1,33 @@
 package com.nilesh.authservice.repository;
 
 import com.nilesh.authservice.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /** One page of users in primary-key order, without the count query a {@code Page} would run. */
+    List<User> findAllByOrderByIdAsc(Pageable pageable);
+
+    /** count(*) rather than count(id), so an index-only scan of the updatedAt index answers both aggregates. */
+    @Query("select count(*) as rowCount, max(u.updatedAt) as lastModified from User u")
+    TableVersion currentVersion();
+
+    /** Users who logged in since {@code since}, most recent first; used to warm caches on startup. */
+    @Query(value = "select u.* from users u join ("
+            + "select a.user_id, max(a.timestamp) as last_login from activity_logs a"
+            + " where a.action = 'USER_LOGIN' and a.timestamp >= :since"
+            + " group by a.user_id order by last_login desc limit :limit"
+            + ") recent on recent.user_id = u.id order by recent.last_login desc", nativeQuery = true)
+    List<User> findRecentlyLoggedIn(@Param("since") Date since, @Param("limit") int limit);
+}
@@ -0,0 +1,222 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.dto.ActivityEventDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live feed of activity-log entries for admin dashboards.
+ * Every recorded entry goes into a fixed-size ring buffer and is fanned out to the open SSE
+ * subscribers. Subscribers can resume with {@code Last-Event-ID} as long as the ring still holds
+ * the missed entries; older ones are reported with a {@code dropped} event carrying the count, so
+ * the client can re-fetch the log list.
+ * <p>
+ * Ids start at the startup time in milliseconds shifted left by 10 bits, so a restarted node
+ * continues above the ids it handed out before (up to 1024 entries per millisecond of uptime)
+ * and they stay exact as JavaScript numbers. An id this node never issued, from before a
+ * restart or from another node, gets a {@code reset} event instead of a replay: the client
+ * can't be told what it missed, so it re-fetches the log list and resumes from the reset's id.
+ * <p>
+ * Events are sent from a fixed pool with a bounded work queue. Each subscriber has a bounded
+ * queue too; a client that lets it fill up, or that can't be scheduled because the pool is
+ * saturated, is closed instead of buffered without limit. EventSource clients reconnect with
+ * {@code Last-Event-ID} and catch up from the ring.
+ */
+@Slf4j
+@Service
+public class ActivityFeedService {
+
+    private final ActivityEventDto[] ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+    private final long firstId = System.currentTimeMillis() << 10;
+    private long nextId = firstId; // guarded by this
+
+    @Value("${activity.feed.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${activity.feed.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    public ActivityFeedService(@Value("${activity.feed.ring-size:1024}") int ringSize,
+                               @Value("${activity.feed.sender-threads:4}") int senderThreads,
+                               @Value("${activity.feed.sender-queue:1024}") int senderQueue) {
+        this.ring = new ActivityEventDto[ringSize];
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(senderQueue), new CustomizableThreadFactory("activity-feed-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    /** Records an entry and fans it out; returns its feed id. */
+    public synchronized long publish(String userId, String userEmail, String action,
+                                     String ipAddress, String details, Date timestamp) {
+        ActivityEventDto event = new ActivityEventDto(nextId++, userId, userEmail, action, ipAddress, details, timestamp);
+        ring[(int) (event.getId() % ring.length)] = event;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(event);
+        }
+        return event.getId();
+    }
+
+    /**
+     * Opens a subscription. Events after {@code lastEventId} that are still in the ring are
+     * replayed first; anything older is reported as dropped, and an id this node didn't issue
+     * as a reset.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null && (lastEventId < firstId - 1 || lastEventId >= nextId)) {
+                subscriber.markReset(nextId - 1);
+            } else if (lastEventId != null) {
+                // Replay at most one subscriber buffer; anything older is reported as dropped.
+                long oldest = Math.max(firstId, nextId - Math.min(ring.length, subscriberBuffer));
+                long from = lastEventId + 1;
+                if (from < oldest) {
+                    subscriber.markDropped(oldest - from);
+                    from = oldest;
+                }
+                for (long id = from; id < nextId; id++) {
+                    subscriber.enqueue(ring[(int) (id % ring.length)]);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayDeque<ActivityEventDto> queue = new ArrayDeque<>();
+        private long dropped;     // guarded by this
+        private Long resetId;     // guarded by this
+        private boolean draining; // guarded by this
+        private boolean closing;  // guarded by this
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private synchronized void markDropped(long count) {
+            dropped += count;
+        }
+
+        /** Sends a {@code reset} event carrying {@code currentId}, the id the client should resume from. */
+        private void markReset(long currentId) {
+            synchronized (this) {
+                resetId = currentId;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void enqueue(ActivityEventDto event) {
+            synchronized (this) {
+                if (closing) {
+                    return;
+                }
+                if (queue.size() >= subscriberBuffer) {
+                    // Too slow to keep up: close rather than buffer; the client resumes from the ring.
+                    log.debug("Closing activity feed subscriber that fell {} events behind", queue.size());
+                    closing = true;
+                    queue.clear();
+                    subscribers.remove(this);
+                } else {
+                    queue.addLast(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("Activity feed sender is saturated, closing subscriber");
+                synchronized (this) {
+                    closing = true;
+                    draining = false;
+                    queue.clear();
+                }
+                subscribers.remove(this);
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                ActivityEventDto event;
+                long droppedSinceLastSend;
+                Long reset;
+                synchronized (this) {
+                    if (closing) {
+                        draining = false;
+                        break;
+                    }
+                    event = queue.pollFirst();
+                    droppedSinceLastSend = dropped;
+                    dropped = 0;
+                    reset = resetId;
+                    resetId = null;
+                    if (event == null && droppedSinceLastSend == 0 && reset == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    if (reset != null) {
+                        emitter.send(SseEmitter.event().id(String.valueOf(reset)).name("reset").data(reset));
+                    }
+                    if (droppedSinceLastSend > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(droppedSinceLastSend));
+                    }
+                    if (event != null) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getId()))
+                                .name("activity")
+                                .data(event));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping activity feed subscriber: {}", e.getMessage());
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+    }
+}
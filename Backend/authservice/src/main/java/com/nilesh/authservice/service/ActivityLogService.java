@@ -1,24 +1,134 @@
 package com.nilesh.authservice.service;
 
+import com.nilesh.authservice.metrics.AuthMetrics;
+import com.nilesh.authservice.metrics.RequestTimings;
 import com.nilesh.authservice.model.ActivityLog;
 import com.nilesh.authservice.model.User;
 import com.nilesh.authservice.repository.ActivityLogRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ActivityLogService {
 
+    private static final String INSERT_LOG_SQL =
+            "INSERT INTO activity_logs (id, action, ip_address, details, timestamp, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
     private final ActivityLogRepository activityLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardStatsService dashboardStatsService;
+    private final ActivityFeedService activityFeedService;
+    private final AuthMetrics authMetrics;
+    private final ThreadPoolExecutor writer;
+
+    public ActivityLogService(ActivityLogRepository activityLogRepository,
+                              JdbcTemplate jdbcTemplate,
+                              DashboardStatsService dashboardStatsService,
+                              ActivityFeedService activityFeedService,
+                              AuthMetrics authMetrics,
+                              @Value("${activity.log.writer-threads:2}") int writerThreads,
+                              @Value("${activity.log.queue-size:10000}") int queueSize) {
+        this.activityLogRepository = activityLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dashboardStatsService = dashboardStatsService;
+        this.activityFeedService = activityFeedService;
+        this.authMetrics = authMetrics;
+        // When the queue is full the caller writes the entry itself, so bursts slow down instead of losing logs.
+        this.writer = new ThreadPoolExecutor(writerThreads, writerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("activity-log-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} activity log entries were not written before shutdown", writer.getQueue().size());
+        }
+    }
 
+    /**
+     * Records a single entry off the request thread; the insert, stats update and
+     * live-feed publish all happen on the activity-log writer pool. The request only pays
+     * for the hand-off, which is still timed as the {@code activity-log} phase.
+     */
     public void logActivity(User user, String action, String ipAddress, String details) {
-        ActivityLog log = ActivityLog.builder()
+        ActivityLog entry = ActivityLog.builder()
                 .user(user)
                 .action(action)
                 .ipAddress(ipAddress)
                 .details(details)
                 .build();
-        activityLogRepository.save(log);
+        try (RequestTimings.Phase ignored = RequestTimings.phase("activity-log")) {
+            writer.execute(() -> write(entry));
+        }
+    }
+
+    private void write(ActivityLog entry) {
+        long start = System.nanoTime();
+        try {
+            activityLogRepository.save(entry);
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} activity for user {}: {}", entry.getAction(), entry.getUser().getId(), e.getMessage());
+            return;
+        }
+        authMetrics.activityLogWrite(System.nanoTime() - start);
+        User user = entry.getUser();
+        String action = entry.getAction();
+        Date timestamp = entry.getTimestamp() != null ? entry.getTimestamp() : new Date();
+        if ("USER_LOGIN".equals(action)) {
+            dashboardStatsService.loginRecorded(timestamp.getTime());
+        }
+        activityFeedService.publish(user.getId(), user.getEmail(), action, entry.getIpAddress(), entry.getDetails(), timestamp);
+    }
+
+    /**
+     * Records the same action for many users with a single JDBC batch.
+     * Joins the caller's transaction when there is one; the live feed only sees
+     * the entries once that transaction commits.
+     */
+    public void logActivities(List<String> userIds, String action, String ipAddress, String details) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        long start = System.nanoTime();
+        jdbcTemplate.batchUpdate(INSERT_LOG_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, action);
+            ps.setString(3, ipAddress);
+            ps.setString(4, details);
+            ps.setTimestamp(5, now);
+            ps.setString(6, userId);
+        });
+        authMetrics.activityLogWrite(System.nanoTime() - start);
+
+        Runnable publish = () -> userIds.forEach(userId ->
+                activityFeedService.publish(userId, null, action, ipAddress, details, now));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
     }
-}
\ No newline at end of file
+}
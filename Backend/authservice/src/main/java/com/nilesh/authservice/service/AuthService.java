@@ -3,6 +3,17 @@ package com.nilesh.authservice.service;
 import com.nilesh.authservice.dto.AuthRequestDto;
 import com.nilesh.authservice.dto.AuthResponseDto;
 import com.nilesh.authservice.dto.LoginRequestDto;
+import com.nilesh.authservice.exception.EmailInUseException;
+import com.nilesh.authservice.exception.InvalidCredentialsException;
+import com.nilesh.authservice.exception.InvalidRoleException;
+import com.nilesh.authservice.exception.PasswordMismatchException;
+import com.nilesh.authservice.exception.WrongProviderException;
+import com.nilesh.authservice.metrics.AuthMetrics;
+import com.nilesh.authservice.metrics.AuthMetrics.DbOperation;
+import com.nilesh.authservice.metrics.AuthMetrics.LoginOutcome;
+import com.nilesh.authservice.metrics.AuthMetrics.PasswordOperation;
+import com.nilesh.authservice.metrics.AuthMetrics.RegisterOutcome;
+import com.nilesh.authservice.metrics.RequestTimings;
 import com.nilesh.authservice.model.*;
 import com.nilesh.authservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -23,29 +34,51 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final ActivityLogService activityLogService;
+    private final DashboardStatsService dashboardStatsService;
+    private final AuthMetrics authMetrics;
 
     public AuthResponseDto register(AuthRequestDto request) {
 
-        Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
-        if (existingUser.isPresent()) {
-            throw new RuntimeException("Email already in use");
+        String email = User.normalizeEmail(request.getEmail());
+        long start = System.nanoTime();
+        boolean emailTaken = userRepository.existsByEmail(email);
+        authMetrics.db(DbOperation.EXISTS_EMAIL, System.nanoTime() - start);
+        if (emailTaken) {
+            authMetrics.registerOutcome(RegisterOutcome.DUPLICATE_EMAIL);
+            throw EmailInUseException.INSTANCE;
         }
 
         if (!request.getPassword().equals(request.getConfirmPassword())) {
-            throw new RuntimeException("Passwords do not match");
+            authMetrics.registerOutcome(RegisterOutcome.PASSWORD_MISMATCH);
+            throw PasswordMismatchException.INSTANCE;
         }
 
-        Role role = Role.valueOf(request.getRole().toUpperCase());
+        Role role = parseRole(request.getRole());
+        if (role == null) {
+            authMetrics.registerOutcome(RegisterOutcome.INVALID_ROLE);
+            throw InvalidRoleException.INSTANCE;
+        }
+
+        start = System.nanoTime();
+        String passwordHash;
+        try (RequestTimings.Phase ignored = RequestTimings.phase("password-hash")) {
+            passwordHash = passwordEncoder.encode(request.getPassword());
+        }
+        authMetrics.password(PasswordOperation.ENCODE, System.nanoTime() - start);
 
         User user = User.builder()
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .email(email)
+                .password(passwordHash)
                 .role(role)
                 .provider(AuthProvider.EMAIL)
                 .status(UserStatus.ACTIVE)
                 .build();
 
+        start = System.nanoTime();
         userRepository.save(user);
+        authMetrics.db(DbOperation.SAVE_USER, System.nanoTime() - start);
+        dashboardStatsService.userCreated(user.getRole(), user.getStatus(), user.getProvider());
+        authMetrics.registerOutcome(RegisterOutcome.SUCCESS);
 
         String jwt = jwtService.generateToken(user);
         return new AuthResponseDto(
@@ -57,22 +90,38 @@ public class AuthService {
     }
 
     public AuthResponseDto login(LoginRequestDto request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid email or password"));
+        long start = System.nanoTime();
+        Optional<User> existingUser = userRepository.findByEmail(User.normalizeEmail(request.getEmail()));
+        authMetrics.db(DbOperation.FIND_USER, System.nanoTime() - start);
+        User user = existingUser.orElseThrow(() -> {
+            authMetrics.loginOutcome(LoginOutcome.UNKNOWN_EMAIL);
+            return InvalidCredentialsException.INSTANCE;
+        });
 
         if (user.getProvider() != AuthProvider.EMAIL) {
-            throw new RuntimeException("Please login using " + user.getProvider().name());
+            authMetrics.loginOutcome(LoginOutcome.WRONG_PROVIDER);
+            throw WrongProviderException.of(user.getProvider());
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid email or password");
+        start = System.nanoTime();
+        boolean passwordMatches;
+        try (RequestTimings.Phase ignored = RequestTimings.phase("password-hash")) {
+            passwordMatches = passwordEncoder.matches(request.getPassword(), user.getPassword());
+        }
+        authMetrics.password(PasswordOperation.MATCHES, System.nanoTime() - start);
+        if (!passwordMatches) {
+            authMetrics.loginOutcome(LoginOutcome.BAD_PASSWORD);
+            throw InvalidCredentialsException.INSTANCE;
         }
 
         String jwt = jwtService.generateToken(user);
         user.setLastLogin(new Date());
+        start = System.nanoTime();
         userRepository.save(user);
+        authMetrics.db(DbOperation.SAVE_USER, System.nanoTime() - start);
         HttpServletRequest httpRequest = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
         activityLogService.logActivity(user, "USER_LOGIN", httpRequest.getRemoteAddr(), "User logged in successfully.");
+        authMetrics.loginOutcome(LoginOutcome.SUCCESS);
         return new AuthResponseDto(
                 jwt,
                 user.getEmail(),
@@ -81,4 +130,15 @@ public class AuthService {
         );
     }
 
-}
\ No newline at end of file
+    /** The role named in a registration request, ignoring case; null if it names no role. */
+    private static Role parseRole(String role) {
+        if (role != null) {
+            for (Role candidate : Role.values()) {
+                if (candidate.name().equalsIgnoreCase(role.trim())) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.nilesh.authservice.service;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Principal set by the JWT filter. Carries the user row it was built from, so
+ * controllers can read the current user without selecting it again.
+ */
+@Getter
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final com.nilesh.authservice.model.User user;
+
+    public AuthenticatedUser(com.nilesh.authservice.model.User user, Collection<? extends GrantedAuthority> authorities) {
+        // OAuth users have no password; Spring's User rejects null, and "" never matches a login
+        super(user.getEmail(), user.getPassword() == null ? "" : user.getPassword(), authorities);
+        this.user = user;
+    }
+}
@@ -0,0 +1,165 @@
+package com.nilesh.authservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed avatar images on the local file system. An image is stored once under the
+ * SHA-256 of its bytes, as {@code <dir>/<first two hex chars>/<hash>.<ext>}, so identical uploads
+ * share one file and a stored file never changes. Users keep only the short reference
+ * {@code <hash>.<ext>}; {@link #publicUrl(String)} turns it into the URL clients load.
+ */
+@Slf4j
+@Service
+public class AvatarStore {
+
+    public static final String URL_PREFIX = "/api/avatars/";
+
+    private static final Pattern REFERENCE = Pattern.compile("[0-9a-f]{64}\\.(png|jpg|gif|webp)");
+    private static final Pattern DATA_URL = Pattern.compile("data:image/[a-z+.-]+;base64,(.+)", Pattern.DOTALL);
+
+    private final Path root;
+    private final int maxBytes;
+
+    public AvatarStore(@Value("${avatar.storage.dir:avatars}") String dir,
+                       @Value("${avatar.max-bytes:2097152}") int maxBytes) {
+        this.root = Path.of(dir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    /** True for a stored-image reference, as opposed to an external URL. */
+    public static boolean isReference(String avatar) {
+        return avatar != null && REFERENCE.matcher(avatar).matches();
+    }
+
+    /** The URL clients load for a user's avatar column; external URLs pass through unchanged. */
+    public static String publicUrl(String avatar) {
+        return isReference(avatar) ? URL_PREFIX + avatar : avatar;
+    }
+
+    /**
+     * Reads an uploaded image and stores it.
+     *
+     * @return the reference to save on the user.
+     * @throws IllegalArgumentException if the body is too large or not a PNG, JPEG, GIF or WebP image.
+     */
+    public String store(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(maxBytes + 1);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException("Avatar images are limited to " + maxBytes + " bytes");
+        }
+        return store(bytes);
+    }
+
+    /**
+     * Normalizes a value sent to the JSON avatar endpoint: data URLs are decoded and stored,
+     * our own avatar URLs become references again, and anything else is kept as an external URL.
+     *
+     * @throws IllegalArgumentException for a data URL that is not a supported image.
+     */
+    public String fromSubmittedValue(String avatar) throws IOException {
+        if (avatar == null || avatar.isBlank()) {
+            return null;
+        }
+        if (avatar.startsWith(URL_PREFIX) && isReference(avatar.substring(URL_PREFIX.length()))) {
+            return avatar.substring(URL_PREFIX.length());
+        }
+        Matcher dataUrl = DATA_URL.matcher(avatar);
+        if (dataUrl.matches()) {
+            byte[] bytes;
+            try {
+                bytes = Base64.getMimeDecoder().decode(dataUrl.group(1));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Avatar data URL is not valid base64");
+            }
+            if (bytes.length > maxBytes) {
+                throw new IllegalArgumentException("Avatar images are limited to " + maxBytes + " bytes");
+            }
+            return store(bytes);
+        }
+        return avatar;
+    }
+
+    /** The stored file for a reference, or null if the reference is malformed or unknown. */
+    public Path resolve(String reference) {
+        if (!isReference(reference)) {
+            return null;
+        }
+        Path file = root.resolve(reference.substring(0, 2)).resolve(reference);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    public static String contentType(String reference) {
+        return switch (reference.substring(reference.lastIndexOf('.') + 1)) {
+            case "png" -> "image/png";
+            case "jpg" -> "image/jpeg";
+            case "gif" -> "image/gif";
+            default -> "image/webp";
+        };
+    }
+
+    private String store(byte[] bytes) throws IOException {
+        String extension = extension(bytes);
+        if (extension == null) {
+            throw new IllegalArgumentException("Avatar must be a PNG, JPEG, GIF or WebP image");
+        }
+        String reference = sha256(bytes) + "." + extension;
+        Path directory = root.resolve(reference.substring(0, 2));
+        Path file = directory.resolve(reference);
+        if (Files.exists(file)) {
+            return reference; // same bytes already stored
+        }
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "upload-", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // a concurrent upload of the same image won the race
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("Stored avatar {} ({} bytes)", reference, bytes.length);
+        return reference;
+    }
+
+    /** Detects the image type from its magic bytes rather than trusting the declared content type. */
+    private static String extension(byte[] b) {
+        if (b.length >= 8 && (b[0] & 0xff) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') {
+            return "png";
+        }
+        if (b.length >= 3 && (b[0] & 0xff) == 0xff && (b[1] & 0xff) == 0xd8 && (b[2] & 0xff) == 0xff) {
+            return "jpg";
+        }
+        if (b.length >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8') {
+            return "gif";
+        }
+        if (b.length >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
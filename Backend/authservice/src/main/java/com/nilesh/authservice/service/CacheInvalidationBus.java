@@ -0,0 +1,325 @@
+package com.nilesh.authservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps in-process caches coherent across nodes through Postgres, without extra infrastructure.
+ * <p>
+ * A change is evicted locally straight away (after commit when there is a transaction) and then
+ * written to {@code cache_invalidations} on a background thread; the same statement announces the
+ * row with {@code NOTIFY cache_invalidation}. Every node holds one dedicated connection that
+ * LISTENs on the channel and turns each notification into an {@link Invalidation} application
+ * event, which the caches handle with {@code @EventListener}. After a lost connection the node
+ * replays the rows it missed; if it was away longer than the retention, it drops everything.
+ * <p>
+ * BIGSERIAL ids are handed out at insert, not at commit, so a row with a lower id can become
+ * visible after a higher one was already seen. Replay therefore also covers every row created
+ * within {@code cache.invalidation.replay-window-ms} before the connection was last known good,
+ * skipping ids this node already applied.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBus {
+
+    public enum Kind { USER, CLIENT }
+
+    /** Evict {@code key} from the caches of {@code kind}; a null key means evict everything. */
+    public record Invalidation(Kind kind, String key) {
+    }
+
+    static final String CHANNEL = "cache_invalidation";
+    static final String LISTENER_APPLICATION_NAME = "authservice-cache-listener";
+
+    private static final String PUBLISH_SQL =
+            "WITH e AS (INSERT INTO cache_invalidations (kind, cache_key) SELECT ?, unnest(?::varchar[])"
+                    + " RETURNING id, kind, cache_key)"
+                    + " SELECT pg_notify('" + CHANNEL + "', e.id || ' ' || e.kind || ' ' || e.cache_key) FROM e";
+    private static final String CATCH_UP_SQL =
+            "SELECT id, kind, cache_key FROM cache_invalidations WHERE id > ? OR created_at >= ? ORDER BY id";
+    private static final int RECENT_IDS = 10_000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final int pollMs;
+    private final long reconnectMinMs;
+    private final long reconnectMaxMs;
+    private final long retentionMs;
+    private final long replayWindowMs;
+    private final ThreadPoolExecutor publisher;
+
+    private volatile boolean running;
+    private volatile Thread listener;
+    private long lastSeenId = -1;
+    private long lastHealthyMillis;
+    /** Ids applied lately, so a replay does not evict the same keys twice. Listener thread only. */
+    private final Set<Long> recentIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > RECENT_IDS;
+        }
+    });
+
+    public CacheInvalidationBus(ApplicationEventPublisher eventPublisher,
+                                JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                @Value("${cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${cache.invalidation.poll-ms:1000}") int pollMs,
+                                @Value("${cache.invalidation.reconnect-min-ms:500}") long reconnectMinMs,
+                                @Value("${cache.invalidation.reconnect-max-ms:30000}") long reconnectMaxMs,
+                                @Value("${cache.invalidation.retention-ms:86400000}") long retentionMs,
+                                @Value("${cache.invalidation.replay-window-ms:60000}") long replayWindowMs,
+                                @Value("${cache.invalidation.queue-size:10000}") int queueSize) {
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.pollMs = pollMs;
+        this.reconnectMinMs = reconnectMinMs;
+        this.reconnectMaxMs = reconnectMaxMs;
+        this.retentionMs = retentionMs;
+        this.replayWindowMs = replayWindowMs;
+        // One thread keeps this node's events in order; when the queue is full the caller publishes itself.
+        this.publisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("cache-invalidation-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public void userChanged(String userId) {
+        invalidate(Kind.USER, List.of(userId));
+    }
+
+    public void usersChanged(Collection<String> userIds) {
+        invalidate(Kind.USER, userIds);
+    }
+
+    public void clientChanged(String clientId) {
+        invalidate(Kind.CLIENT, List.of(clientId));
+    }
+
+    /**
+     * Evicts the keys here and on every other node. Inside a transaction both happen after commit,
+     * so no node can re-cache the old row in between.
+     */
+    public void invalidate(Kind kind, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> copy = List.copyOf(keys);
+        Runnable invalidate = () -> {
+            copy.forEach(key -> eventPublisher.publishEvent(new Invalidation(kind, key)));
+            if (enabled) {
+                publisher.execute(() -> publish(kind, copy));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate.run();
+                }
+            });
+        } else {
+            invalidate.run();
+        }
+    }
+
+    private void publish(Kind kind, List<String> keys) {
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(PUBLISH_SQL);
+                ps.setString(1, kind.name());
+                ps.setArray(2, connection.createArrayOf("varchar", keys.toArray()));
+                return ps;
+            }, (ResultSet rs) -> null);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to version checks and cache expiry for these keys.
+            log.warn("Could not publish {} invalidation for {} keys: {}", kind, keys.size(), e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startListening() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        listener = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.join(pollMs + 1000L);
+        }
+        publisher.shutdown();
+        if (!publisher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} cache invalidations were not published before shutdown", publisher.getQueue().size());
+        }
+    }
+
+    /** Deletes rows older than the retention; a node that was away longer clears its caches instead. */
+    @Scheduled(fixedDelayString = "${cache.invalidation.prune-interval-ms:3600000}",
+            initialDelayString = "${cache.invalidation.prune-initial-delay-ms:60000}")
+    public void prune() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?",
+                new Timestamp(System.currentTimeMillis() - retentionMs));
+        log.debug("Pruned {} cache invalidations", deleted);
+    }
+
+    private void listen() {
+        long backoff = reconnectMinMs;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // LISTEN first, then catch up: anything committed in between shows up in one or both.
+                catchUp(connection);
+                backoff = reconnectMinMs;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMs);
+                    if (notifications != null && notifications.length > 0) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    } else if (!connection.isValid(5)) {
+                        throw new SQLException("Listener connection is no longer valid");
+                    }
+                    lastHealthyMillis = System.currentTimeMillis();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, reconnectMaxMs);
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty(PGProperty.USER.getName(), dataSourceProperties.determineUsername());
+        String password = dataSourceProperties.determinePassword();
+        if (password != null) {
+            properties.setProperty(PGProperty.PASSWORD.getName(), password);
+        }
+        properties.setProperty(PGProperty.APPLICATION_NAME.getName(), LISTENER_APPLICATION_NAME);
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    private void catchUp(Connection connection) throws SQLException {
+        if (lastSeenId < 0) {
+            // First connection: caches start empty, so only the position matters.
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT coalesce(max(id), 0) FROM cache_invalidations")) {
+                rs.next();
+                lastSeenId = rs.getLong(1);
+            }
+        } else if (System.currentTimeMillis() - lastHealthyMillis >= retentionMs) {
+            log.warn("Cache invalidation listener was disconnected longer than the retention, clearing all caches");
+            for (Kind kind : Kind.values()) {
+                eventPublisher.publishEvent(new Invalidation(kind, null));
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT coalesce(max(id), 0) FROM cache_invalidations")) {
+                rs.next();
+                lastSeenId = Math.max(lastSeenId, rs.getLong(1));
+            }
+        } else {
+            int replayed = 0;
+            try (PreparedStatement ps = connection.prepareStatement(CATCH_UP_SQL)) {
+                ps.setLong(1, lastSeenId);
+                // The window also absorbs skew between this node's clock and the database's now()
+                ps.setTimestamp(2, new Timestamp(lastHealthyMillis - replayWindowMs));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (apply(rs.getLong(1), rs.getString(2), rs.getString(3), true)) {
+                            replayed++;
+                        }
+                    }
+                }
+            }
+            log.info("Cache invalidation listener reconnected, replayed {} missed invalidations", replayed);
+        }
+        lastHealthyMillis = System.currentTimeMillis();
+    }
+
+    /** Notification payload: {@code "<id> <kind> <key>"}. */
+    private void apply(String payload) {
+        int first = payload.indexOf(' ');
+        int second = first < 0 ? -1 : payload.indexOf(' ', first + 1);
+        if (second < 0) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        apply(Long.parseLong(payload.substring(0, first)), payload.substring(first + 1, second),
+                payload.substring(second + 1), false);
+    }
+
+    /** Returns false for a replayed row this node had already applied. */
+    private boolean apply(long id, String kind, String key, boolean replay) {
+        lastSeenId = Math.max(lastSeenId, id);
+        if (!recentIds.add(id) && replay) {
+            return false;
+        }
+        try {
+            eventPublisher.publishEvent(new Invalidation(Kind.valueOf(kind), key));
+        } catch (RuntimeException e) {
+            log.warn("Could not apply {} invalidation for {}: {}", kind, key, e.getMessage());
+        }
+        return true;
+    }
+}
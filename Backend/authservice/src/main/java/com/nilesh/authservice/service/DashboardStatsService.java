@@ -0,0 +1,183 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.dto.DashboardStatsDto;
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.UserStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory counters behind the admin dashboard.
+ * The services that create or change users and record logins update the counters as they go,
+ * so reading the stats is O(1). A scheduled reconcile replaces them with fresh aggregates from
+ * the database, which repairs drift from other nodes, direct SQL edits or lost updates.
+ */
+@Slf4j
+@Service
+public class DashboardStatsService {
+
+    static final int LOGIN_BUCKETS = 24;
+    private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final Map<Role, AtomicLong> usersByRole = counters(Role.class);
+    private final Map<UserStatus, AtomicLong> usersByStatus = counters(UserStatus.class);
+    private final Map<AuthProvider, AtomicLong> usersByProvider = counters(AuthProvider.class);
+
+    // Ring of hourly login counts; loginHours[i] is the epoch hour currently held in slot i.
+    // Both are only read and written while holding loginCounts[i].
+    private final long[] loginHours = new long[LOGIN_BUCKETS];
+    private final AtomicLong[] loginCounts = new AtomicLong[LOGIN_BUCKETS];
+
+    private volatile Date reconciledAt;
+
+    public DashboardStatsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (int i = 0; i < LOGIN_BUCKETS; i++) {
+            loginCounts[i] = new AtomicLong();
+        }
+    }
+
+    public void userCreated(Role role, UserStatus status, AuthProvider provider) {
+        totalUsers.incrementAndGet();
+        usersByRole.get(role).incrementAndGet();
+        usersByStatus.get(status).incrementAndGet();
+        usersByProvider.get(provider).incrementAndGet();
+    }
+
+    public void roleChanged(Role from, Role to) {
+        if (from != to) {
+            usersByRole.get(from).decrementAndGet();
+            usersByRole.get(to).incrementAndGet();
+        }
+    }
+
+    public void statusChanged(UserStatus from, UserStatus to) {
+        if (from != to) {
+            usersByStatus.get(from).decrementAndGet();
+            usersByStatus.get(to).incrementAndGet();
+        }
+    }
+
+    public void providerChanged(AuthProvider from, AuthProvider to) {
+        if (from != to) {
+            usersByProvider.get(from).decrementAndGet();
+            usersByProvider.get(to).incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a login in its hour's slot. The hour check and the increment share the slot's lock,
+     * so a login racing the rollover to a new hour can't be wiped by the reset.
+     */
+    public void loginRecorded(long timestampMillis) {
+        long hour = timestampMillis / HOUR_MS;
+        int slot = (int) (hour % LOGIN_BUCKETS);
+        synchronized (loginCounts[slot]) {
+            if (loginHours[slot] < hour) {
+                loginHours[slot] = hour;
+                loginCounts[slot].set(0);
+            } else if (loginHours[slot] > hour) {
+                return; // older than the window
+            }
+            loginCounts[slot].incrementAndGet();
+        }
+    }
+
+    public DashboardStatsDto snapshot() {
+        long currentHour = System.currentTimeMillis() / HOUR_MS;
+        List<DashboardStatsDto.LoginBucket> logins = new ArrayList<>(LOGIN_BUCKETS);
+        for (long hour = currentHour - LOGIN_BUCKETS + 1; hour <= currentHour; hour++) {
+            int slot = (int) (hour % LOGIN_BUCKETS);
+            long count;
+            synchronized (loginCounts[slot]) {
+                count = loginHours[slot] == hour ? loginCounts[slot].get() : 0;
+            }
+            logins.add(new DashboardStatsDto.LoginBucket(new Date(hour * HOUR_MS), count));
+        }
+        return new DashboardStatsDto(
+                totalUsers.get(),
+                toMap(usersByRole),
+                toMap(usersByStatus),
+                toMap(usersByProvider),
+                logins,
+                reconciledAt
+        );
+    }
+
+    /**
+     * Rebuilds every counter from the database: one grouped scan of users and one
+     * index range scan over the last day of USER_LOGIN activity.
+     */
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<Role, Long> roles = new EnumMap<>(Role.class);
+        Map<UserStatus, Long> statuses = new EnumMap<>(UserStatus.class);
+        Map<AuthProvider, Long> providers = new EnumMap<>(AuthProvider.class);
+        long[] total = new long[1];
+        jdbcTemplate.query("SELECT role, status, provider, count(*) FROM users GROUP BY role, status, provider", rs -> {
+            long count = rs.getLong(4);
+            roles.merge(Role.valueOf(rs.getString(1)), count, Long::sum);
+            statuses.merge(UserStatus.valueOf(rs.getString(2)), count, Long::sum);
+            providers.merge(AuthProvider.valueOf(rs.getString(3)), count, Long::sum);
+            total[0] += count;
+        });
+
+        long currentHour = System.currentTimeMillis() / HOUR_MS;
+        long firstHour = currentHour - LOGIN_BUCKETS + 1;
+        Map<Long, Long> loginsByHour = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT date_trunc('hour', timestamp) AS hour, count(*) FROM activity_logs
+                WHERE action = 'USER_LOGIN' AND timestamp >= ?
+                GROUP BY 1""", rs -> {
+            loginsByHour.put(rs.getTimestamp(1).getTime() / HOUR_MS, rs.getLong(2));
+        }, new Timestamp(firstHour * HOUR_MS));
+
+        totalUsers.set(total[0]);
+        reset(usersByRole, roles);
+        reset(usersByStatus, statuses);
+        reset(usersByProvider, providers);
+        for (long hour = firstHour; hour <= currentHour; hour++) {
+            int slot = (int) (hour % LOGIN_BUCKETS);
+            synchronized (loginCounts[slot]) {
+                loginHours[slot] = hour;
+                loginCounts[slot].set(loginsByHour.getOrDefault(hour, 0L));
+            }
+        }
+        reconciledAt = new Date();
+        log.debug("Dashboard stats reconciled: {} users", total[0]);
+    }
+
+    private static <E extends Enum<E>> Map<E, AtomicLong> counters(Class<E> type) {
+        Map<E, AtomicLong> counters = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counters.put(value, new AtomicLong());
+        }
+        return counters;
+    }
+
+    private static <E extends Enum<E>> void reset(Map<E, AtomicLong> counters, Map<E, Long> values) {
+        counters.forEach((key, counter) -> counter.set(values.getOrDefault(key, 0L)));
+    }
+
+    private static <E extends Enum<E>> Map<String, Long> toMap(Map<E, AtomicLong> counters) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.forEach((key, counter) -> result.put(key.name(), counter.get()));
+        return result;
+    }
+}
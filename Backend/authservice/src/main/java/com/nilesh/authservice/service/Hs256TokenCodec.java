@@ -0,0 +1,404 @@
+package com.nilesh.authservice.service;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * HS256 codec for the access tokens this service issues: header {@code {"alg":"HS256"}} and a
+ * flat payload of sub, role, provider, an optional perms bitset, iat and exp. Signing and verification reuse a per-thread
+ * {@link Mac} and scratch buffers, and Base64URL and JSON are handled directly on bytes, so
+ * validating a token allocates little more than the claim strings it returns.
+ * <p>
+ * {@link #decode} returns null for anything outside that shape (other headers or claims, escaped
+ * strings) and for tokens that are forged or expired; {@link JwtService} then falls back to jjwt,
+ * which accepts the general case and raises the usual exceptions.
+ */
+final class Hs256TokenCodec {
+
+    /** {@code permissions} is null for tokens issued without a perms claim. */
+    record TokenClaims(String subject, String role, String provider, long[] permissions,
+                       long issuedAt, long expiresAt) {
+    }
+
+    private static final byte[] ENCODE =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < ENCODE.length; i++) {
+            DECODE[ENCODE[i]] = i;
+        }
+    }
+
+    private static final byte[] HEADER = encode("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+    private static final int MAC_LENGTH = 32;
+    private static final int SIGNATURE_LENGTH = 43; // 32 bytes, Base64URL without padding
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] ROLE = ascii("role");
+    private static final byte[] PROVIDER = ascii("provider");
+    private static final byte[] PERMS = ascii("perms");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] EXP = ascii("exp");
+
+    private final ThreadLocal<Scratch> scratch;
+
+    Hs256TokenCodec(byte[] key) {
+        SecretKeySpec keySpec = new SecretKeySpec(key, "HmacSHA256");
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(keySpec));
+    }
+
+    /**
+     * @param permissions the encoded {@code perms} claim (see {@link PermissionRegistry#encode}),
+     *                    or null to leave it out.
+     */
+    String encode(String subject, String role, String provider, String permissions,
+                  long issuedAtSeconds, long expiresAtSeconds) {
+        StringBuilder json = new StringBuilder(112 + subject.length());
+        json.append("{\"sub\":\"");
+        escape(json, subject);
+        json.append("\",\"role\":\"").append(role)
+                .append("\",\"provider\":\"").append(provider).append('"');
+        if (permissions != null) {
+            json.append(",\"perms\":\"").append(permissions).append('"');
+        }
+        json.append(",\"iat\":").append(issuedAtSeconds)
+                .append(",\"exp\":").append(expiresAtSeconds)
+                .append('}');
+        byte[] payload = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        int payloadEnd = HEADER.length + 1 + encodedLength(payload.length);
+        byte[] token = new byte[payloadEnd + 1 + SIGNATURE_LENGTH];
+        System.arraycopy(HEADER, 0, token, 0, HEADER.length);
+        token[HEADER.length] = '.';
+        encode(payload, 0, payload.length, token, HEADER.length + 1);
+        token[payloadEnd] = '.';
+
+        Scratch s = scratch.get();
+        s.sign(token, payloadEnd);
+        encode(s.expected, 0, MAC_LENGTH, token, payloadEnd + 1);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Verifies and decodes a token.
+     *
+     * @return the claims, or null if the token is not in the fast-path shape, its signature
+     *         does not match, or it expired before {@code nowMillis}.
+     */
+    TokenClaims decode(String token, long nowMillis) {
+        int length = token.length();
+        int payloadStart = HEADER.length + 1;
+        if (length > MAX_TOKEN_LENGTH || length < payloadStart + 1 + SIGNATURE_LENGTH) {
+            return null;
+        }
+        Scratch s = scratch.get();
+        byte[] buffer = s.buffer(length * 2);
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return null;
+            }
+            buffer[i] = (byte) c;
+        }
+        if (!Arrays.equals(buffer, 0, HEADER.length, HEADER, 0, HEADER.length) || buffer[HEADER.length] != '.') {
+            return null;
+        }
+        int payloadEnd = length - SIGNATURE_LENGTH - 1;
+        if (buffer[payloadEnd] != '.') {
+            return null;
+        }
+
+        s.sign(buffer, payloadEnd);
+        if (decode(buffer, payloadEnd + 1, SIGNATURE_LENGTH, s.actual, 0) != MAC_LENGTH
+                || !MessageDigest.isEqual(s.expected, s.actual)) {
+            return null;
+        }
+
+        // The decoded payload goes after the token bytes in the same buffer.
+        int jsonLength = decode(buffer, payloadStart, payloadEnd - payloadStart, buffer, length);
+        if (jsonLength < 0) {
+            return null;
+        }
+        TokenClaims claims = parsePayload(buffer, length, length + jsonLength);
+        if (claims == null || claims.expiresAt() * 1000 < nowMillis) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Parses a flat JSON object holding exactly the five standard claims and optionally perms. Anything else,
+     * including escape sequences, non-integer numbers and duplicate keys, yields null.
+     */
+    private static TokenClaims parsePayload(byte[] b, int start, int end) {
+        String subject = null, role = null, provider = null;
+        long[] permissions = null;
+        long issuedAt = -1, expiresAt = -1;
+
+        int i = skipWhitespace(b, start, end);
+        if (i >= end || b[i++] != '{') {
+            return null;
+        }
+        while (true) {
+            i = skipWhitespace(b, i, end);
+            if (i >= end || b[i] != '"') {
+                return null;
+            }
+            int keyStart = i + 1;
+            int keyEnd = closingQuote(b, keyStart, end);
+            if (keyEnd < 0) {
+                return null;
+            }
+            i = skipWhitespace(b, keyEnd + 1, end);
+            if (i >= end || b[i] != ':') {
+                return null;
+            }
+            i = skipWhitespace(b, i + 1, end);
+            if (i >= end) {
+                return null;
+            }
+
+            String text = null;
+            long number = -1;
+            boolean permsValue = false;
+            if (b[i] == '"' && keyEquals(b, keyStart, keyEnd, PERMS)) {
+                int valueEnd = closingQuote(b, i + 1, end);
+                if (valueEnd < 0 || permissions != null) {
+                    return null;
+                }
+                permissions = decodePermissions(b, i + 1, valueEnd);
+                if (permissions == null) {
+                    return null;
+                }
+                i = valueEnd + 1;
+                permsValue = true;
+            } else if (b[i] == '"') {
+                int valueEnd = closingQuote(b, i + 1, end);
+                if (valueEnd < 0) {
+                    return null;
+                }
+                text = new String(b, i + 1, valueEnd - i - 1, StandardCharsets.UTF_8);
+                i = valueEnd + 1;
+            } else {
+                int digitsStart = i;
+                number = 0;
+                while (i < end && b[i] >= '0' && b[i] <= '9' && i - digitsStart < 15) {
+                    number = number * 10 + (b[i++] - '0');
+                }
+                if (i == digitsStart || (i < end && b[i] >= '0' && b[i] <= '9')) {
+                    return null;
+                }
+            }
+
+            if (permsValue) {
+                // decoded above
+            } else if (keyEquals(b, keyStart, keyEnd, SUB) && subject == null && text != null) {
+                subject = text;
+            } else if (keyEquals(b, keyStart, keyEnd, ROLE) && role == null && text != null) {
+                role = text;
+            } else if (keyEquals(b, keyStart, keyEnd, PROVIDER) && provider == null && text != null) {
+                provider = text;
+            } else if (keyEquals(b, keyStart, keyEnd, IAT) && issuedAt < 0 && text == null) {
+                issuedAt = number;
+            } else if (keyEquals(b, keyStart, keyEnd, EXP) && expiresAt < 0 && text == null) {
+                expiresAt = number;
+            } else {
+                return null;
+            }
+
+            i = skipWhitespace(b, i, end);
+            if (i >= end) {
+                return null;
+            }
+            if (b[i] == ',') {
+                i++;
+            } else if (b[i] == '}') {
+                i++;
+                break;
+            } else {
+                return null;
+            }
+        }
+        if (skipWhitespace(b, i, end) != end
+                || subject == null || role == null || provider == null || issuedAt < 0 || expiresAt < 0) {
+            return null;
+        }
+        return new TokenClaims(subject, role, provider, permissions, issuedAt, expiresAt);
+    }
+
+    /** Decodes a Base64URL perms value into its bitset words, or returns null if it is malformed. */
+    private static long[] decodePermissions(byte[] b, int start, int end) {
+        int length = end - start;
+        int remainder = length % 4;
+        if (remainder == 1) {
+            return null;
+        }
+        byte[] bytes = new byte[length / 4 * 3 + (remainder == 0 ? 0 : remainder - 1)];
+        if (decode(b, start, length, bytes, 0) != bytes.length) {
+            return null;
+        }
+        return PermissionRegistry.fromBytes(bytes, bytes.length);
+    }
+
+    private static int skipWhitespace(byte[] b, int i, int end) {
+        while (i < end && (b[i] == ' ' || b[i] == '\t' || b[i] == '\n' || b[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Index of the closing quote, or -1 if the string is unterminated or contains an escape. */
+    private static int closingQuote(byte[] b, int i, int end) {
+        for (; i < end; i++) {
+            if (b[i] == '"') {
+                return i;
+            }
+            if (b[i] == '\\' || (b[i] >= 0 && b[i] < 0x20)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean keyEquals(byte[] b, int start, int end, byte[] key) {
+        return Arrays.equals(b, start, end, key, 0, key.length);
+    }
+
+    private static void escape(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+    }
+
+    private static int encodedLength(int length) {
+        int remainder = length % 3;
+        return length / 3 * 4 + (remainder == 0 ? 0 : remainder + 1);
+    }
+
+    private static byte[] encode(byte[] source) {
+        byte[] encoded = new byte[encodedLength(source.length)];
+        encode(source, 0, source.length, encoded, 0);
+        return encoded;
+    }
+
+    /** Base64URL without padding; returns the index after the last byte written. */
+    private static int encode(byte[] src, int offset, int length, byte[] dst, int d) {
+        int i = offset;
+        int end = offset + length;
+        while (end - i >= 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[d++] = ENCODE[bits >>> 18 & 63];
+            dst[d++] = ENCODE[bits >>> 12 & 63];
+            dst[d++] = ENCODE[bits >>> 6 & 63];
+            dst[d++] = ENCODE[bits & 63];
+            i += 3;
+        }
+        if (end - i == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[d++] = ENCODE[bits >>> 18 & 63];
+            dst[d++] = ENCODE[bits >>> 12 & 63];
+        } else if (end - i == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[d++] = ENCODE[bits >>> 18 & 63];
+            dst[d++] = ENCODE[bits >>> 12 & 63];
+            dst[d++] = ENCODE[bits >>> 6 & 63];
+        }
+        return d;
+    }
+
+    /**
+     * Decodes unpadded Base64URL. Returns the number of bytes written, or -1 for invalid input,
+     * including non-canonical trailing bits.
+     */
+    private static int decode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int i = offset;
+        int end = offset + length;
+        int d = dstOffset;
+        while (end - i >= 4) {
+            int bits = value(src[i]) << 18 | value(src[i + 1]) << 12 | value(src[i + 2]) << 6 | value(src[i + 3]);
+            if (bits < 0) {
+                return -1;
+            }
+            dst[d++] = (byte) (bits >> 16);
+            dst[d++] = (byte) (bits >> 8);
+            dst[d++] = (byte) bits;
+            i += 4;
+        }
+        int remainder = end - i;
+        if (remainder == 2) {
+            int bits = value(src[i]) << 18 | value(src[i + 1]) << 12;
+            if (bits < 0 || (bits & 0xffff) != 0) {
+                return -1;
+            }
+            dst[d++] = (byte) (bits >> 16);
+        } else if (remainder == 3) {
+            int bits = value(src[i]) << 18 | value(src[i + 1]) << 12 | value(src[i + 2]) << 6;
+            if (bits < 0 || (bits & 0xff) != 0) {
+                return -1;
+            }
+            dst[d++] = (byte) (bits >> 16);
+            dst[d++] = (byte) (bits >> 8);
+        } else if (remainder == 1) {
+            return -1;
+        }
+        return d - dstOffset;
+    }
+
+    private static int value(byte c) {
+        return c < 0 ? -1 : DECODE[c];
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** Per-thread Mac and buffers; nothing here is shared between threads. */
+    private static final class Scratch {
+
+        private final Mac mac;
+        private final byte[] expected = new byte[MAC_LENGTH];
+        private final byte[] actual = new byte[MAC_LENGTH];
+        private byte[] buffer = new byte[1024];
+
+        private Scratch(SecretKeySpec key) {
+            try {
+                this.mac = Mac.getInstance("HmacSHA256");
+                this.mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        }
+
+        private byte[] buffer(int size) {
+            if (buffer.length < size) {
+                buffer = new byte[size];
+            }
+            return buffer;
+        }
+
+        /** Writes the HMAC of {@code input[0, length)} to {@link #expected}. */
+        private void sign(byte[] input, int length) {
+            mac.update(input, 0, length);
+            try {
+                mac.doFinal(expected, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,39 +1,79 @@
 package com.nilesh.authservice.service;
 
-import com.nilesh.authservice.model.AuthProvider;
-import com.nilesh.authservice.model.Role;
 import com.nilesh.authservice.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    /**
+     * What the JWT filter needs from an access token.
+     *
+     * @param permissions the perms bitset, or null if the token has none.
+     */
+    public record AccessToken(String subject, String role, long[] permissions) {
+    }
+
+    private final PermissionRegistry permissionRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.access-token.expiration}")
     private long accessTokenExpiration;
 
+    // Derived from jwtSecret on first use.
+    private volatile Key signingKey;
+    private volatile Hs256TokenCodec codec;
+
     /**
-     * Extracts the username (email) from the JWT token
+     * Extracts the username (email) from the JWT token.
+     * Tokens in our own format are verified by {@link Hs256TokenCodec}; anything else,
+     * including forged and expired tokens, goes through jjwt and fails the usual way.
      */
     public String extractUsername(String token) {
+        Hs256TokenCodec.TokenClaims claims = codec().decode(token, System.currentTimeMillis());
+        if (claims != null) {
+            return claims.subject();
+        }
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Verifies an access token and returns its subject, role and permissions, parsing it once.
+     * Fails like {@link #extractUsername(String)} for forged or expired tokens.
+     */
+    public AccessToken parseAccessToken(String token) {
+        Hs256TokenCodec.TokenClaims claims = codec().decode(token, System.currentTimeMillis());
+        if (claims != null) {
+            return new AccessToken(claims.subject(), claims.role(), claims.permissions());
+        }
+        Claims all = extractAllClaims(token);
+        long[] permissions = null;
+        if (all.get("perms") instanceof String perms) {
+            try {
+                permissions = PermissionRegistry.decode(perms);
+            } catch (IllegalArgumentException e) {
+                // treated like a token without perms: the role's grants apply
+            }
+        }
+        return new AccessToken(all.getSubject(), all.get("role") instanceof String role ? role : null, permissions);
+    }
+
     /**
      * Extracts a specific claim from the JWT token
      */
@@ -46,11 +86,30 @@ public class JwtService {
      * Generates a JWT token for a user with additional claims
      */
     public String generateToken(User user) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
-        claims.put("provider", user.getProvider().name());
-        
-        return generateToken(claims, user.getEmail());
+        long now = System.currentTimeMillis();
+        return codec().encode(
+                user.getEmail(),
+                user.getRole().name(),
+                user.getProvider().name(),
+                permissionRegistry.claimForRole(user.getRole()),
+                now / 1000,
+                (now + accessTokenExpiration) / 1000
+        );
+    }
+
+    /**
+     * Generates an access token for a service client; the role claim marks it as a client token
+     * so the JWT filter does not look it up as a user.
+     */
+    public String generateClientToken(String clientId, String permissions, long issuedAtMillis, long expiresAtMillis) {
+        return codec().encode(
+                clientId,
+                ServiceClientService.CLIENT_ROLE,
+                ServiceClientService.CLIENT_PROVIDER,
+                permissions,
+                issuedAtMillis / 1000,
+                expiresAtMillis / 1000
+        );
     }
 
     /**
@@ -67,25 +126,12 @@ public class JwtService {
     }
 
     /**
-     * Validates if a token is valid for the given user details
+     * Validates if a token is valid for the given user details.
+     * Expired or forged tokens throw from {@link #extractUsername(String)}.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Checks if a token is expired
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extracts the expiration date from a token
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return User.normalizeEmail(username).equals(userDetails.getUsername());
     }
 
     /**
@@ -103,7 +149,20 @@ public class JwtService {
      * Gets the signing key from the JWT secret
      */
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private Hs256TokenCodec codec() {
+        Hs256TokenCodec current = codec;
+        if (current == null) {
+            current = new Hs256TokenCodec(getSigningKey().getEncoded());
+            codec = current;
+        }
+        return current;
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.nilesh.authservice.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * The caller's effective permissions as a bitset, indexed by {@link PermissionRegistry}.
+ * Sits next to the {@code ROLE_} authority on the authentication so checks are a single bit test.
+ */
+public final class PermissionAuthority implements GrantedAuthority {
+
+    private final long[] bits;
+
+    public PermissionAuthority(long[] bits) {
+        this.bits = bits;
+    }
+
+    public boolean has(int index) {
+        return PermissionRegistry.has(bits, index);
+    }
+
+    /** Not representable as a single string; see {@link GrantedAuthority#getAuthority()}. */
+    @Override
+    public String getAuthority() {
+        return null;
+    }
+
+    /** The permission authority of an authentication, or null if it has none. */
+    public static PermissionAuthority of(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (authority instanceof PermissionAuthority permissions) {
+                return permissions;
+            }
+        }
+        return null;
+    }
+}
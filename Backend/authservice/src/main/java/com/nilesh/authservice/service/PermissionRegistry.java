@@ -0,0 +1,183 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.config.PermissionProperties;
+import com.nilesh.authservice.model.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps permission names to bit indexes and roles to permission bitsets, both taken from
+ * {@link PermissionProperties}, so grants change through configuration rather than code.
+ * <p>
+ * Tokens carry the bitset as the {@code perms} claim: the words' bytes in little-endian order
+ * with trailing zero bytes dropped, Base64URL-encoded. Arrays returned here are shared and must
+ * not be modified.
+ */
+@Slf4j
+@Service
+public class PermissionRegistry {
+
+    private static final long[] NONE = new long[0];
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final Map<Role, long[]> roles = new EnumMap<>(Role.class);
+    private final Map<Role, String> claims = new EnumMap<>(Role.class);
+
+    public PermissionRegistry(PermissionProperties properties) {
+        List<String> names = properties.getNames();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            if (name.isEmpty() || indexes.putIfAbsent(name, i) != null) {
+                throw new IllegalStateException("Permission names must be unique and non-blank: " + name);
+            }
+        }
+        long[] all = new long[words(names.size())];
+        for (int i = 0; i < names.size(); i++) {
+            set(all, i);
+        }
+
+        properties.getRoles().forEach((roleName, granted) -> {
+            Role role;
+            try {
+                role = Role.valueOf(roleName.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Permissions configured for unknown role " + roleName);
+            }
+            long[] bits = new long[all.length];
+            for (String name : granted) {
+                if (name.trim().equals("*")) {
+                    bits = all.clone();
+                    break;
+                }
+                set(bits, index(name.trim()));
+            }
+            roles.put(role, bits);
+            claims.put(role, encode(bits));
+        });
+        for (Role role : Role.values()) {
+            if (!roles.containsKey(role)) {
+                log.warn("No permissions configured for role {}", role);
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the permission is not configured.
+     */
+    public int index(String permission) {
+        Integer index = indexes.get(permission);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown permission: " + permission);
+        }
+        return index;
+    }
+
+    /**
+     * The bitset for a set of permission names.
+     *
+     * @throws IllegalArgumentException if a name is not configured.
+     */
+    public long[] bitsOf(Collection<String> permissions) {
+        long[] bits = new long[words(indexes.size())];
+        for (String permission : permissions) {
+            set(bits, index(permission));
+        }
+        return bits;
+    }
+
+    public long[] forRole(Role role) {
+        return roles.getOrDefault(role, NONE);
+    }
+
+    /** The {@code perms} claim for tokens issued to a role. */
+    public String claimForRole(Role role) {
+        return claims.getOrDefault(role, "");
+    }
+
+    /**
+     * The permissions to enforce for a user token: the token's bitset limited to what the user's
+     * current role grants, so a role change or a grant removed from configuration applies straight
+     * away instead of when the token expires. Grants added since the token was issued (such as
+     * {@code clients.manage} for ADMIN tokens signed before it existed) arrive with the next
+     * access token. Client tokens ({@code currentRole == null}) are limited when they are issued.
+     */
+    public long[] effective(long[] tokenBits, String tokenRole, Role currentRole) {
+        if (currentRole == null) {
+            return tokenBits == null ? NONE : tokenBits;
+        }
+        if (tokenBits != null && currentRole.name().equals(tokenRole)) {
+            return intersect(tokenBits, forRole(currentRole));
+        }
+        return forRole(currentRole);
+    }
+
+    public static boolean has(long[] bits, int index) {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    /** {@code bits} restricted to {@code allowed}; returns {@code bits} itself when it is already a subset. */
+    public static long[] intersect(long[] bits, long[] allowed) {
+        for (int i = 0; i < bits.length; i++) {
+            if ((bits[i] & ~(i < allowed.length ? allowed[i] : 0)) != 0) {
+                long[] result = new long[Math.min(bits.length, allowed.length)];
+                for (int j = 0; j < result.length; j++) {
+                    result[j] = bits[j] & allowed[j];
+                }
+                return result;
+            }
+        }
+        return bits;
+    }
+
+    /** The {@code perms} claim value for a bitset. */
+    public static String encode(long[] bits) {
+        int length = bits.length * 8;
+        while (length > 0 && byteAt(bits, length - 1) == 0) {
+            length--;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = byteAt(bits, i);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Parses a {@code perms} claim value.
+     *
+     * @throws IllegalArgumentException if the value is not Base64URL.
+     */
+    public static long[] decode(String claim) {
+        byte[] bytes = Base64.getUrlDecoder().decode(claim);
+        return fromBytes(bytes, bytes.length);
+    }
+
+    static long[] fromBytes(byte[] bytes, int length) {
+        long[] bits = new long[words(length * 8)];
+        for (int i = 0; i < length; i++) {
+            bits[i >>> 3] |= (bytes[i] & 0xffL) << (i & 7) * 8;
+        }
+        return bits;
+    }
+
+    private static byte byteAt(long[] bits, int index) {
+        return (byte) (bits[index >>> 3] >>> (index & 7) * 8);
+    }
+
+    private static int words(int bitCount) {
+        return (bitCount + 63) >>> 6;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+}
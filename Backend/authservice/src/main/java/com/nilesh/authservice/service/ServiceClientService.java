@@ -0,0 +1,298 @@
+package com.nilesh.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nilesh.authservice.exception.ClientCredentialsException;
+import com.nilesh.authservice.metrics.AuthMetrics;
+import com.nilesh.authservice.metrics.AuthMetrics.ClientTokenOutcome;
+import com.nilesh.authservice.metrics.AuthMetrics.PasswordOperation;
+import com.nilesh.authservice.model.ServiceClient;
+import com.nilesh.authservice.repository.ServiceClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service accounts and the client_credentials grant.
+ * <p>
+ * Three caches keep repeated token requests cheap. Clients are cached by client id for a short
+ * time. A secret that passed BCrypt is remembered as an HMAC under a key that only lives in this
+ * process, so later requests compare digests instead of hashing again. Issued tokens are cached per
+ * client and scope and handed out again while they have at least
+ * {@code client.token.reuse-min-remaining-ms} left, instead of being signed anew.
+ */
+@Slf4j
+@Service
+public class ServiceClientService {
+
+    public static final String CLIENT_ROLE = "SERVICE";
+    public static final String CLIENT_PROVIDER = "CLIENT";
+
+    /** A client as the token endpoint and the JWT filter need it. */
+    public record ActiveClient(String clientId, String secretHash, Set<String> scopes, long[] permissions) {
+    }
+
+    /** An issued token; {@code scope} is the canonical space-separated scope string. */
+    public record IssuedToken(String value, String scope, long expiresAtMillis) {
+    }
+
+    public record CreatedClient(ServiceClient client, String secret) {
+    }
+
+    private record VerifiedSecret(String secretHash, byte[] digest) {
+    }
+
+    /**
+     * Permissions whose endpoints act on the signed-in user. A client token has no user behind it,
+     * so these are never granted to clients.
+     */
+    private static final Set<String> USER_ONLY_PERMISSIONS = Set.of("profile.read", "profile.write", "activity.read");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ServiceClientRepository serviceClientRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final PermissionRegistry permissionRegistry;
+    private final AuthMetrics authMetrics;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final long tokenExpirationMs;
+    private final long reuseMinRemainingMs;
+    private final SecretKeySpec digestKey;
+
+    private final Cache<String, ActiveClient> clients;
+    private final Cache<String, VerifiedSecret> verifiedSecrets;
+    private final Cache<String, IssuedToken> tokens;
+
+    public ServiceClientService(ServiceClientRepository serviceClientRepository,
+                                PasswordEncoder passwordEncoder,
+                                JwtService jwtService,
+                                PermissionRegistry permissionRegistry,
+                                AuthMetrics authMetrics,
+                                CacheInvalidationBus cacheInvalidationBus,
+                                @Value("${client.token.expiration-ms:3600000}") long tokenExpirationMs,
+                                @Value("${client.token.reuse-min-remaining-ms:60000}") long reuseMinRemainingMs,
+                                @Value("${client.cache.ttl-ms:60000}") long clientCacheTtlMs,
+                                @Value("${client.secret-cache.ttl-ms:600000}") long secretCacheTtlMs) {
+        this.serviceClientRepository = serviceClientRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.permissionRegistry = permissionRegistry;
+        this.authMetrics = authMetrics;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.tokenExpirationMs = tokenExpirationMs;
+        this.reuseMinRemainingMs = reuseMinRemainingMs;
+        byte[] key = new byte[32];
+        RANDOM.nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, "HmacSHA256");
+        this.clients = Caffeine.newBuilder().maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(clientCacheTtlMs)).build();
+        this.verifiedSecrets = Caffeine.newBuilder().maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(secretCacheTtlMs)).build();
+        this.tokens = Caffeine.newBuilder().maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(tokenExpirationMs)).build();
+    }
+
+    /**
+     * Handles a client_credentials request.
+     *
+     * @param scope space-separated permission names, or null/blank for everything the client may request.
+     * @throws ClientCredentialsException with {@code invalid_client} or {@code invalid_scope}.
+     */
+    public IssuedToken issueToken(String clientId, String secret, String scope) {
+        ActiveClient client = clientId == null || secret == null ? null : find(clientId);
+        if (client == null || !secretMatches(client, secret)) {
+            authMetrics.clientToken(ClientTokenOutcome.INVALID_CLIENT);
+            throw new ClientCredentialsException("invalid_client", "Client authentication failed");
+        }
+        String canonicalScope = canonicalScope(client, scope);
+
+        String cacheKey = clientId + ' ' + canonicalScope;
+        long now = System.currentTimeMillis();
+        IssuedToken cached = tokens.getIfPresent(cacheKey);
+        if (cached != null && cached.expiresAtMillis() - now >= reuseMinRemainingMs) {
+            authMetrics.clientToken(ClientTokenOutcome.REUSED);
+            return cached;
+        }
+
+        long[] permissions = permissionRegistry.bitsOf(Arrays.asList(canonicalScope.split(" ")));
+        long expiresAt = (now + tokenExpirationMs) / 1000 * 1000; // tokens carry whole seconds
+        IssuedToken issued = new IssuedToken(
+                jwtService.generateClientToken(clientId, PermissionRegistry.encode(permissions), now, expiresAt),
+                canonicalScope, expiresAt);
+        tokens.put(cacheKey, issued);
+        authMetrics.clientToken(ClientTokenOutcome.ISSUED);
+        return issued;
+    }
+
+    /** The client behind a client token, or null once it has been deleted. Served from cache. */
+    public ActiveClient find(String clientId) {
+        ActiveClient client = clients.getIfPresent(clientId);
+        if (client == null) {
+            client = serviceClientRepository.findByClientId(clientId).map(this::toActive).orElse(null);
+            if (client != null) {
+                clients.put(clientId, client);
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Creates a client with a random id and secret.
+     *
+     * @throws IllegalArgumentException if the name is blank, a scope is not a configured permission,
+     *                                  or a scope is one only users can hold.
+     */
+    public CreatedClient create(String name, List<String> scopes) {
+        if (name == null || name.isBlank() || scopes == null || scopes.isEmpty()) {
+            throw new IllegalArgumentException("A client needs a name and at least one scope");
+        }
+        permissionRegistry.bitsOf(scopes); // rejects unknown permissions
+        for (String scope : scopes) {
+            if (USER_ONLY_PERMISSIONS.contains(scope)) {
+                throw new IllegalArgumentException("Scope " + scope + " can only be granted to users");
+            }
+        }
+        String secret = randomToken(32);
+        ServiceClient client = serviceClientRepository.save(ServiceClient.builder()
+                .clientId("svc_" + UUID.randomUUID().toString().replace("-", ""))
+                .secretHash(passwordEncoder.encode(secret))
+                .name(name.trim())
+                .scopes(String.join(" ", sorted(new LinkedHashSet<>(scopes))))
+                .build());
+        log.info("Created service client {} ({})", client.getClientId(), client.getName());
+        return new CreatedClient(client, secret);
+    }
+
+    public List<ServiceClient> list() {
+        return serviceClientRepository.findAll();
+    }
+
+    /**
+     * Deletes a client. Its tokens stop authenticating once the client cache entry is gone,
+     * which {@link CacheInvalidationBus} arranges on every node.
+     */
+    public boolean delete(String clientId) {
+        return serviceClientRepository.findByClientId(clientId)
+                .map(client -> {
+                    serviceClientRepository.delete(client);
+                    cacheInvalidationBus.clientChanged(clientId);
+                    log.info("Deleted service client {}", clientId);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    public void evict(String clientId) {
+        clients.invalidate(clientId);
+        verifiedSecrets.invalidate(clientId);
+        tokens.asMap().keySet().removeIf(key -> key.startsWith(clientId + ' '));
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationBus.Invalidation invalidation) {
+        if (invalidation.kind() != CacheInvalidationBus.Kind.CLIENT) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            clients.invalidateAll();
+            verifiedSecrets.invalidateAll();
+            tokens.invalidateAll();
+        } else {
+            evict(invalidation.key());
+        }
+    }
+
+    private boolean secretMatches(ActiveClient client, String secret) {
+        byte[] digest = digest(secret);
+        VerifiedSecret verified = verifiedSecrets.getIfPresent(client.clientId());
+        if (verified != null && verified.secretHash().equals(client.secretHash())
+                && MessageDigest.isEqual(verified.digest(), digest)) {
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean matches = passwordEncoder.matches(secret, client.secretHash());
+        authMetrics.password(PasswordOperation.MATCHES, System.nanoTime() - start);
+        if (matches) {
+            verifiedSecrets.put(client.clientId(), new VerifiedSecret(client.secretHash(), digest));
+        }
+        return matches;
+    }
+
+    /** Requested scopes in permission-index order, so equal requests share one cached token. */
+    private String canonicalScope(ActiveClient client, String scope) {
+        if (scope == null || scope.isBlank()) {
+            if (client.scopes().isEmpty()) {
+                // Every stored scope was dropped by toActive; there is nothing left to grant.
+                authMetrics.clientToken(ClientTokenOutcome.INVALID_SCOPE);
+                throw new ClientCredentialsException("invalid_scope", "No usable scope is granted to this client");
+            }
+            return String.join(" ", client.scopes());
+        }
+        Set<String> requested = new LinkedHashSet<>(Arrays.asList(scope.trim().split("\\s+")));
+        if (!client.scopes().containsAll(requested)) {
+            authMetrics.clientToken(ClientTokenOutcome.INVALID_SCOPE);
+            throw new ClientCredentialsException("invalid_scope", "Scope not granted to this client");
+        }
+        return String.join(" ", sorted(requested));
+    }
+
+    private ActiveClient toActive(ServiceClient client) {
+        Set<String> scopes = new LinkedHashSet<>();
+        for (String scope : client.getScopes().split(" ")) {
+            try {
+                permissionRegistry.index(scope);
+            } catch (IllegalArgumentException e) {
+                log.warn("Service client {} has unknown scope {}, ignoring it", client.getClientId(), scope);
+                continue;
+            }
+            if (USER_ONLY_PERMISSIONS.contains(scope)) {
+                log.warn("Service client {} has user-only scope {}, ignoring it", client.getClientId(), scope);
+                continue;
+            }
+            scopes.add(scope);
+        }
+        return new ActiveClient(client.getClientId(), client.getSecretHash(),
+                new LinkedHashSet<>(sorted(scopes)), permissionRegistry.bitsOf(scopes));
+    }
+
+    private List<String> sorted(Set<String> scopes) {
+        List<String> sorted = new ArrayList<>(scopes);
+        sorted.sort(Comparator.comparingInt(permissionRegistry::index));
+        return sorted;
+    }
+
+    private byte[] digest(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(digestKey);
+            return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static String randomToken(int bytes) {
+        byte[] random = new byte[bytes];
+        RANDOM.nextBytes(random);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+    }
+}
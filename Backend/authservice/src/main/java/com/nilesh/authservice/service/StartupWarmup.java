@@ -0,0 +1,132 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.model.UserStatus;
+import com.nilesh.authservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Warms a fresh node before it reports ready. Spring Boot publishes the readiness
+ * {@code ACCEPTING_TRAFFIC} state only after all {@link ApplicationRunner}s return, so this runner
+ * blocks until warm-up finishes or {@code warmup.timeout-ms} passes.
+ * <p>
+ * Warm-up serializes recently active users (from their latest {@code USER_LOGIN} activity) into
+ * {@link UserJsonCache} with a single query, loads a few of them the way the JWT filter does, and
+ * signs and verifies tokens and checks passwords in a loop so the JIT has compiled those paths
+ * before real traffic arrives.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final String WARMUP_PASSWORD = "warm-up-only";
+
+    private final UserRepository userRepository;
+    private final UserJsonCache userJsonCache;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${warmup.recent-users:1000}")
+    private int recentUsers;
+
+    @Value("${warmup.recent-window-hours:24}")
+    private long recentWindowHours;
+
+    @Value("${warmup.user-lookups:20}")
+    private int userLookups;
+
+    @Value("${warmup.token-iterations:20000}")
+    private int tokenIterations;
+
+    @Value("${warmup.password-iterations:3}")
+    private int passwordIterations;
+
+    public StartupWarmup(UserRepository userRepository, UserJsonCache userJsonCache,
+                         UserDetailsServiceImpl userDetailsService, JwtService jwtService,
+                         PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.userJsonCache = userJsonCache;
+        this.userDetailsService = userDetailsService;
+        this.jwtService = jwtService;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Thread worker = new Thread(this::warmUp, "startup-warmup");
+        worker.setDaemon(true);
+        worker.start();
+        worker.join(timeoutMs);
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.warn("Warm-up did not finish within {} ms, reporting ready anyway", timeoutMs);
+        } else {
+            log.info("Warm-up finished in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+    }
+
+    private void warmUp() {
+        try {
+            List<User> users = userRepository.findRecentlyLoggedIn(
+                    new Date(System.currentTimeMillis() - Duration.ofHours(recentWindowHours).toMillis()), recentUsers);
+            for (User user : users) {
+                userJsonCache.json(user);
+            }
+            for (int i = 0; i < Math.min(userLookups, users.size()) && !interrupted(); i++) {
+                userDetailsService.loadUserByUsername(users.get(i).getEmail());
+            }
+
+            List<User> tokenUsers = users.isEmpty() ? List.of(syntheticUser()) : users;
+            for (int i = 0; i < tokenIterations && !interrupted(); i++) {
+                jwtService.parseAccessToken(jwtService.generateToken(tokenUsers.get(i % tokenUsers.size())));
+            }
+
+            String hash = passwordEncoder.encode(WARMUP_PASSWORD);
+            for (int i = 0; i < passwordIterations && !interrupted(); i++) {
+                passwordEncoder.matches(WARMUP_PASSWORD, hash);
+            }
+            log.debug("Warm-up cached {} recent users and ran {} token and {} password iterations",
+                    users.size(), tokenIterations, passwordIterations);
+        } catch (RuntimeException e) {
+            // Warm-up only saves latency; a failure here must not keep the node from starting.
+            log.warn("Warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    private static boolean interrupted() {
+        return Thread.currentThread().isInterrupted();
+    }
+
+    /** Stands in when nobody logged in recently, so the token path still gets compiled. */
+    private static User syntheticUser() {
+        return User.builder()
+                .id("00000000-0000-0000-0000-000000000000")
+                .email("warmup@localhost")
+                .role(Role.USER)
+                .provider(AuthProvider.EMAIL)
+                .status(UserStatus.ACTIVE)
+                .build();
+    }
+}
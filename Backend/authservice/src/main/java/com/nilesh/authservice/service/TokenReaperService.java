@@ -0,0 +1,77 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.repository.TokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically deletes expired and revoked tokens in small chunks.
+ * Each chunk is its own short transaction and the reaper sleeps between chunks,
+ * so it never holds long locks or produces a burst of WAL large enough to lag replicas.
+ */
+@Slf4j
+@Service
+public class TokenReaperService {
+
+    private final TokenRepository tokenRepository;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter deletedCounter;
+
+    @Value("${token.reaper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${token.reaper.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${token.reaper.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    public TokenReaperService(TokenRepository tokenRepository, MeterRegistry meterRegistry) {
+        this.tokenRepository = tokenRepository;
+        Gauge.builder("auth.token.reaper.backlog", backlog, AtomicLong::get)
+                .description("Expired or revoked tokens still waiting to be deleted")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("auth.token.reaper.deleted")
+                .description("Tokens deleted by the reaper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${token.reaper.interval-ms:60000}",
+            initialDelayString = "${token.reaper.initial-delay-ms:30000}")
+    public void reap() {
+        Date now = new Date();
+        backlog.set(tokenRepository.countReapable(now));
+        if (backlog.get() == 0) {
+            return;
+        }
+
+        int batches = 0;
+        long total = 0;
+        while (batches < maxBatchesPerRun) {
+            int deleted = tokenRepository.deleteReapableChunk(now, batchSize);
+            batches++;
+            total += deleted;
+            deletedCounter.increment(deleted);
+            backlog.updateAndGet(remaining -> Math.max(0, remaining - deleted));
+
+            if (deleted < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.debug("Token reaper deleted {} rows in {} batches, {} remaining", total, batches, backlog.get());
+    }
+}
@@ -0,0 +1,174 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.dto.BulkUpdateResultDto;
+import com.nilesh.authservice.dto.BulkUserUpdateDto;
+import com.nilesh.authservice.dto.UserFilterDto;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.UserStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Applies status and role changes to many users at once.
+ * Targets are resolved up front (explicit ids or a filter, never the acting admin), then updated chunk by chunk with
+ * one {@code UPDATE ... WHERE id = ANY(?)} per chunk. Only rows whose values actually change
+ * are updated and logged; each chunk's update and its activity-log batch share a transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBulkUpdateService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityLogService activityLogService;
+    private final DashboardStatsService dashboardStatsService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${user.bulk-update.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * @param actorId    the admin making the change; excluded from the targets so a broad filter
+     *                   can't suspend or demote the caller. Null when a service client makes the change.
+     * @param actorEmail the admin's email or the client id, recorded in the activity log.
+     */
+    public BulkUpdateResultDto apply(BulkUserUpdateDto request, String actorId, String actorEmail, String ipAddress) {
+        List<String> targets = resolveTargets(request, actorId);
+        String sql = buildUpdateSql(request);
+        String details = describe(request, actorEmail);
+
+        int updated = 0;
+        for (int from = 0; from < targets.size(); from += chunkSize) {
+            String[] chunk = targets.subList(from, Math.min(from + chunkSize, targets.size())).toArray(String[]::new);
+            List<String> changed = transactionTemplate.execute(status -> {
+                List<Change> changes = jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    int index = bindValues(ps, 1, request);
+                    ps.setArray(index++, connection.createArrayOf("varchar", chunk));
+                    bindValues(ps, index, request);
+                    return ps;
+                }, (rs, rowNum) -> new Change(rs.getString(1), rs.getString(2), rs.getString(3)));
+                List<String> changedIds = changes.stream().map(Change::id).toList();
+                activityLogService.logActivities(changedIds, "USER_BULK_UPDATE", ipAddress, details);
+                // Move the dashboard counters only once the chunk is committed; a rollback leaves them as they were.
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        changes.forEach(change -> recordChange(request, change));
+                    }
+                });
+                return changedIds;
+            });
+            if (changed != null) {
+                // Evict after commit so a concurrent read can't re-cache the old row.
+                cacheInvalidationBus.usersChanged(changed);
+                updated += changed.size();
+            }
+        }
+        log.debug("Bulk update matched {} users, changed {}", targets.size(), updated);
+        return new BulkUpdateResultDto(targets.size(), updated);
+    }
+
+    /** Returns the ids of existing users to update; unknown ids are dropped so they don't count as matched. */
+    private List<String> resolveTargets(BulkUserUpdateDto request, String actorId) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            String[] ids = new LinkedHashSet<>(request.getIds()).toArray(String[]::new);
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement("SELECT id FROM users WHERE id = ANY(?) AND id IS DISTINCT FROM ?");
+                ps.setArray(1, connection.createArrayOf("varchar", ids));
+                ps.setString(2, actorId);
+                return ps;
+            }, (rs, rowNum) -> rs.getString(1));
+        }
+
+        UserFilterDto filter = request.getFilter();
+        if (filter == null || !filter.hasCriteria()) {
+            throw new IllegalArgumentException("Bulk update filter must have at least one criterion");
+        }
+        StringBuilder sql = new StringBuilder("SELECT id FROM users WHERE id IS DISTINCT FROM ?");
+        List<Object> args = new ArrayList<>();
+        args.add(actorId);
+        if (filter.getRole() != null) {
+            sql.append(" AND role = ?");
+            args.add(filter.getRole().name());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.getStatus().name());
+        }
+        if (filter.getProvider() != null) {
+            sql.append(" AND provider = ?");
+            args.add(filter.getProvider().name());
+        }
+        return jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+    }
+
+    private void recordChange(BulkUserUpdateDto request, Change change) {
+        if (request.getStatus() != null) {
+            dashboardStatsService.statusChanged(UserStatus.valueOf(change.previousStatus()), request.getStatus());
+        }
+        if (request.getRole() != null) {
+            dashboardStatsService.roleChanged(Role.valueOf(change.previousRole()), request.getRole());
+        }
+    }
+
+    /**
+     * Builds {@code UPDATE users u SET ... FROM users old WHERE ... RETURNING u.id, old.status, old.role}.
+     * The self-join exposes the pre-update values so the dashboard counters can be adjusted.
+     * The SET values are bound first and the same values again for the "differs" check.
+     */
+    private static String buildUpdateSql(BulkUserUpdateDto request) {
+        List<String> sets = new ArrayList<>();
+        List<String> differs = new ArrayList<>();
+        if (request.getStatus() != null) {
+            sets.add("status = ?");
+            differs.add("u.status <> ?");
+        }
+        if (request.getRole() != null) {
+            sets.add("role = ?");
+            differs.add("u.role <> ?");
+        }
+        return "UPDATE users u SET " + String.join(", ", sets) + ", updated_at = now()"
+                + " FROM users old WHERE old.id = u.id AND u.id = ANY(?)"
+                + " AND (" + String.join(" OR ", differs) + ")"
+                + " RETURNING u.id, old.status, old.role";
+    }
+
+    /** One updated row with the status and role it had before the update. */
+    private record Change(String id, String previousStatus, String previousRole) {
+    }
+
+    private static int bindValues(PreparedStatement ps, int index, BulkUserUpdateDto request) throws SQLException {
+        if (request.getStatus() != null) {
+            ps.setString(index++, request.getStatus().name());
+        }
+        if (request.getRole() != null) {
+            ps.setString(index++, request.getRole().name());
+        }
+        return index;
+    }
+
+    private static String describe(BulkUserUpdateDto request, String actorEmail) {
+        List<String> changes = new ArrayList<>();
+        if (request.getStatus() != null) {
+            changes.add("status set to " + request.getStatus().name());
+        }
+        if (request.getRole() != null) {
+            changes.add("role set to " + request.getRole().name());
+        }
+        return String.join(", ", changes) + " by " + actorEmail + ".";
+    }
+}
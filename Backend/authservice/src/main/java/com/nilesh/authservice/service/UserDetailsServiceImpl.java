@@ -3,7 +3,6 @@ package com.nilesh.authservice.service;
 import com.nilesh.authservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,12 +18,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        com.nilesh.authservice.model.User user = userRepository.findByEmail(email)
+        com.nilesh.authservice.model.User user = userRepository.findByEmail(
+                        com.nilesh.authservice.model.User.normalizeEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new User(
-                user.getEmail(),
-                user.getPassword(),
+        return new AuthenticatedUser(
+                user,
                 Collections.singleton(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
         );
     }
@@ -0,0 +1,350 @@
+package com.nilesh.authservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nilesh.authservice.dto.ImportRowResultDto;
+import com.nilesh.authservice.dto.ImportUserDto;
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.model.UserStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Creates users in bulk from a streamed CSV or NDJSON body.
+ * Rows are processed in chunks: each chunk is deduplicated against the database with one
+ * set-based query, plain passwords are hashed in parallel, and the survivors are written
+ * with a single JDBC batch. A result line is written per input row as soon as its chunk finishes.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO users (id, email, password, role, provider, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (email) DO NOTHING""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final DashboardStatsService dashboardStatsService;
+    private final ExecutorService hashingPool;
+
+    @Value("${user.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public UserImportService(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, ObjectMapper objectMapper,
+                             DashboardStatsService dashboardStatsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.dashboardStatsService = dashboardStatsService;
+        this.hashingPool = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                new CustomizableThreadFactory("user-import-hash-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * Reads users from {@code body} and writes one NDJSON {@link ImportRowResultDto} per row to {@code out}.
+     *
+     * @param ndjson true for one JSON object per line, false for CSV with a header row
+     *               (columns: email, password, passwordHash, role; only email is required).
+     */
+    public void importUsers(InputStream body, boolean ndjson, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        CsvColumns columns = ndjson ? null : CsvColumns.parse(reader.readLine());
+        long lineNumber = ndjson ? 0 : 1;
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parseRow(lineNumber, line, columns));
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, seenEmails, out);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, seenEmails, out);
+        }
+        out.flush();
+    }
+
+    private ImportRow parseRow(long lineNumber, String line, CsvColumns columns) {
+        ImportRow row = new ImportRow(lineNumber);
+        try {
+            row.user = columns == null ? objectMapper.readValue(line, ImportUserDto.class) : columns.read(line);
+            if (row.user == null) {
+                row.fail("Empty row");
+            }
+        } catch (IllegalArgumentException e) {
+            row.fail("Unparseable row: " + e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            row.fail("Unparseable row");
+        }
+        return row;
+    }
+
+    private void processChunk(List<ImportRow> chunk, Set<String> seenEmails, OutputStream out) throws IOException {
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.status == null) {
+                validate(row, seenEmails);
+            }
+            if (row.status == null) {
+                candidates.add(row);
+            }
+        }
+
+        skipExisting(candidates);
+        hashPasswords(candidates);
+        insert(candidates);
+
+        for (ImportRow row : chunk) {
+            String email = row.user == null ? null : row.user.getEmail();
+            out.write(objectMapper.writeValueAsBytes(new ImportRowResultDto(row.line, email, row.status, row.message)));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private void validate(ImportRow row, Set<String> seenEmails) {
+        ImportUserDto user = row.user;
+        if (user.getEmail() == null || !user.getEmail().contains("@")) {
+            row.fail("Invalid email");
+            return;
+        }
+        if (user.getPasswordHash() != null) {
+            if (!BCRYPT_HASH.matcher(user.getPasswordHash()).matches()) {
+                row.fail("passwordHash is not a BCrypt hash");
+                return;
+            }
+        } else if (user.getPassword() == null || user.getPassword().isEmpty()) {
+            row.fail("Either password or passwordHash is required");
+            return;
+        }
+        try {
+            row.role = user.getRole() == null || user.getRole().isBlank()
+                    ? Role.USER
+                    : Role.valueOf(user.getRole().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            row.fail("Unknown role: " + user.getRole());
+            return;
+        }
+        row.emailKey = User.normalizeEmail(user.getEmail());
+        if (!seenEmails.add(row.emailKey)) {
+            row.skip("Duplicate email in import");
+        }
+    }
+
+    /**
+     * Marks candidates whose email already exists using one query per chunk; stored emails are
+     * normalized, so comparing normalized keys is case-insensitive.
+     */
+    private void skipExisting(List<ImportRow> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        String[] keys = candidates.stream().map(row -> row.emailKey).toArray(String[]::new);
+        Set<String> existing = new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT email FROM users WHERE email = ANY(?)");
+            Array array = connection.createArrayOf("varchar", keys);
+            ps.setArray(1, array);
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+
+        candidates.removeIf(row -> {
+            if (existing.contains(row.emailKey)) {
+                row.skip("Email already in use");
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void hashPasswords(List<ImportRow> candidates) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (row.user.getPasswordHash() != null) {
+                row.hash = row.user.getPasswordHash();
+            } else {
+                String password = row.user.getPassword();
+                pending.add(CompletableFuture.runAsync(() -> row.hash = passwordEncoder.encode(password), hashingPool));
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void insert(List<ImportRow> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, candidates, candidates.size(), (ps, row) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, row.emailKey);
+            ps.setString(3, row.hash);
+            ps.setString(4, row.role.name());
+            ps.setString(5, AuthProvider.EMAIL.name());
+            ps.setString(6, UserStatus.ACTIVE.name());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+
+        int[] rowCounts = counts[0];
+        for (int i = 0; i < candidates.size(); i++) {
+            ImportRow row = candidates.get(i);
+            if (rowCounts[i] == 0) {
+                row.skip("Email already in use");
+            } else {
+                row.status = "CREATED";
+                dashboardStatsService.userCreated(row.role, UserStatus.ACTIVE, AuthProvider.EMAIL);
+            }
+        }
+        log.debug("Imported {} users in one batch", candidates.size());
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private ImportUserDto user;
+        private String emailKey;
+        private Role role;
+        private String hash;
+        private String status;
+        private String message;
+
+        private ImportRow(long line) {
+            this.line = line;
+        }
+
+        private void fail(String message) {
+            this.status = "ERROR";
+            this.message = message;
+        }
+
+        private void skip(String message) {
+            this.status = "SKIPPED";
+            this.message = message;
+        }
+    }
+
+    /**
+     * Column positions taken from the CSV header. Fields follow RFC 4180: a field may be quoted,
+     * and inside quotes commas are literal and {@code ""} is a quote. Quoted fields cannot span
+     * lines. A row whose field count differs from the header's is rejected rather than guessed at.
+     */
+    private record CsvColumns(int count, int email, int password, int passwordHash, int role) {
+
+        static CsvColumns parse(String header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV import requires a header row");
+            }
+            List<String> names = fields(header);
+            int email = -1, password = -1, passwordHash = -1, role = -1;
+            for (int i = 0; i < names.size(); i++) {
+                switch (names.get(i).trim()) {
+                    case "email" -> email = i;
+                    case "password" -> password = i;
+                    case "passwordHash" -> passwordHash = i;
+                    case "role" -> role = i;
+                    default -> { }
+                }
+            }
+            if (email < 0) {
+                throw new IllegalArgumentException("CSV header must contain an email column");
+            }
+            return new CsvColumns(names.size(), email, password, passwordHash, role);
+        }
+
+        ImportUserDto read(String line) {
+            List<String> values = fields(line);
+            if (values.size() != count) {
+                throw new IllegalArgumentException("Expected " + count + " fields but found " + values.size());
+            }
+            ImportUserDto user = new ImportUserDto();
+            user.setEmail(trimmed(values, email));
+            // Passwords are taken verbatim; leading or trailing spaces may be part of them.
+            user.setPassword(password < 0 || values.get(password).isEmpty() ? null : values.get(password));
+            user.setPasswordHash(trimmed(values, passwordHash));
+            user.setRole(trimmed(values, role));
+            return user;
+        }
+
+        private static String trimmed(List<String> values, int index) {
+            if (index < 0) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        static List<String> fields(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.nilesh.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nilesh.authservice.dto.DtoJsonWriter;
+import com.nilesh.authservice.dto.UserDto;
+import com.nilesh.authservice.metrics.RequestTimings;
+import com.nilesh.authservice.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Serialized {@link UserDto} JSON per user, so profile reads and admin listings write cached
+ * bytes instead of building DTOs and running Jackson. Entries are keyed by user id and carry the
+ * row version (updated_at) they were built from; a lookup with a newer entity re-serializes, so a
+ * missed eviction or a change made on another node can't serve stale data. Code that changes a
+ * user's avatar, status, role or password still evicts the entry right away, on every node,
+ * through {@link CacheInvalidationBus}.
+ */
+@Service
+public class UserJsonCache {
+
+    private record Entry(long version, byte[] json) {
+    }
+
+    private final Cache<String, Entry> cache;
+
+    public UserJsonCache(@Value("${user.json-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public byte[] json(User user) {
+        try (RequestTimings.Phase ignored = RequestTimings.phase("serialize")) {
+            return lookup(user);
+        }
+    }
+
+    /** A JSON array of the users, assembled from the cached per-user fragments. */
+    public byte[] jsonArray(List<User> users) {
+        try (RequestTimings.Phase ignored = RequestTimings.phase("serialize")) {
+            byte[][] fragments = new byte[users.size()][];
+            int length = 2 + Math.max(0, users.size() - 1);
+            for (int i = 0; i < fragments.length; i++) {
+                fragments[i] = lookup(users.get(i));
+                length += fragments[i].length;
+            }
+            byte[] json = new byte[length];
+            int position = 0;
+            json[position++] = '[';
+            for (int i = 0; i < fragments.length; i++) {
+                if (i > 0) {
+                    json[position++] = ',';
+                }
+                System.arraycopy(fragments[i], 0, json, position, fragments[i].length);
+                position += fragments[i].length;
+            }
+            json[position] = ']';
+            return json;
+        }
+    }
+
+    public void evict(String userId) {
+        cache.invalidate(userId);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationBus.Invalidation invalidation) {
+        if (invalidation.kind() != CacheInvalidationBus.Kind.USER) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            cache.invalidateAll();
+        } else {
+            evict(invalidation.key());
+        }
+    }
+
+    private byte[] lookup(User user) {
+        long version = version(user);
+        Entry entry = cache.getIfPresent(user.getId());
+        if (entry == null || entry.version() != version) {
+            entry = new Entry(version, DtoJsonWriter.write(UserDto.from(user)));
+            cache.put(user.getId(), entry);
+        }
+        return entry.json();
+    }
+
+    private static long version(User user) {
+        Date version = user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+        return version == null ? 0 : version.getTime();
+    }
+}
@@ -0,0 +1,34 @@
+-- Baseline schema, matching what spring.jpa.hibernate.ddl-auto=update used to create.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS users (
+    id          VARCHAR(255) PRIMARY KEY,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255),
+    role        VARCHAR(255) NOT NULL,
+    provider    VARCHAR(255) NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    avatar      VARCHAR(255),
+    last_login  TIMESTAMP(6),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS tokens (
+    id          VARCHAR(255) PRIMARY KEY,
+    value       VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    revoked     BOOLEAN NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    created_at  TIMESTAMP(6),
+    user_id     VARCHAR(255) NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS activity_logs (
+    id          VARCHAR(255) PRIMARY KEY,
+    action      VARCHAR(255) NOT NULL,
+    ip_address  VARCHAR(255),
+    details     TEXT,
+    timestamp   TIMESTAMP(6) NOT NULL,
+    user_id     VARCHAR(255) NOT NULL REFERENCES users (id)
+);
@@ -0,0 +1,11 @@
+-- Indexes derived from the repository query shapes.
+
+-- ActivityLogRepository.findByUserOrderByTimestampDesc: equality on user_id, ordered by timestamp.
+CREATE INDEX IF NOT EXISTS idx_activity_logs_user_timestamp ON activity_logs (user_id, timestamp DESC);
+
+-- Token lookups per user and expiry sweeps.
+CREATE INDEX IF NOT EXISTS idx_tokens_user_id ON tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_tokens_expires_at ON tokens (expires_at);
+
+-- UserRepository.existsByEmailIgnoreCase: Spring Data derives upper(email) = upper(?).
+CREATE INDEX IF NOT EXISTS idx_users_email_upper ON users (upper(email));
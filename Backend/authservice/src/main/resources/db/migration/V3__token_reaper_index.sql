@@ -0,0 +1,2 @@
+-- Lets the token reaper find revoked tokens without scanning live ones.
+CREATE INDEX IF NOT EXISTS idx_tokens_revoked ON tokens (id) WHERE revoked;
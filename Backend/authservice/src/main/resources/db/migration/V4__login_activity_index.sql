@@ -0,0 +1,2 @@
+-- The dashboard login histogram filters activity logs by action over a time range.
+CREATE INDEX IF NOT EXISTS idx_activity_logs_action_timestamp ON activity_logs (action, timestamp);
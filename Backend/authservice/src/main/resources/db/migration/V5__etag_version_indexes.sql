@@ -0,0 +1,3 @@
+-- ETags for the admin user and log lists come from max(updated_at) / max(timestamp).
+CREATE INDEX IF NOT EXISTS idx_users_updated_at ON users (updated_at);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_timestamp ON activity_logs (timestamp);
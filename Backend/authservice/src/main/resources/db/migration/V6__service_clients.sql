@@ -0,0 +1,10 @@
+-- Service accounts for the client_credentials grant (POST /api/auth/token).
+CREATE TABLE IF NOT EXISTS service_clients (
+    id          VARCHAR(255) PRIMARY KEY,
+    client_id   VARCHAR(255) NOT NULL UNIQUE,
+    secret_hash VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    scopes      TEXT NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
@@ -0,0 +1,11 @@
+-- Change log behind CacheInvalidationBus. Each row is announced with NOTIFY cache_invalidation;
+-- a node that lost its LISTEN connection replays the rows it missed by id. Rows older than
+-- cache.invalidation.retention-ms are pruned.
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id         BIGSERIAL PRIMARY KEY,
+    kind       VARCHAR(32)  NOT NULL,
+    cache_key  VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_cache_invalidations_created_at ON cache_invalidations (created_at);
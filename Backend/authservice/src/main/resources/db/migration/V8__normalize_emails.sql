@@ -0,0 +1,16 @@
+-- Emails are stored trimmed and lower-cased (User.normalizeEmail), which makes the existing
+-- unique constraint on users.email case-insensitive and lets every lookup use it directly.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM users GROUP BY lower(trim(email)) HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'users contains emails that differ only in case or whitespace; merge them before migrating';
+    END IF;
+END $$;
+
+UPDATE users SET email = lower(trim(email)) WHERE email <> lower(trim(email));
+
+-- Rejects writes that bypass the entity (imports, manual SQL) without normalizing.
+ALTER TABLE users ADD CONSTRAINT users_email_normalized CHECK (email = lower(trim(email)));
+
+-- Only existsByEmailIgnoreCase used upper(email); plain email lookups use the unique index.
+DROP INDEX IF EXISTS idx_users_email_upper;
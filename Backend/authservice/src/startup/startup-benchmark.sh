@@ -0,0 +1,113 @@
+#!/usr/bin/env bash
+#
+# Cold-start comparison: plain JVM, Spring AOT, Spring AOT + AppCDS and the native image.
+# For each mode the service is started RUNS times and two numbers are recorded:
+#   started  - "Started AuthserviceApplication in ..." as reported by Spring Boot
+#   login    - wall time from process launch to the first successful POST /api/auth/login
+#
+# Build first (see src/startup/README.md), then run from Backend/authservice:
+#   src/startup/startup-benchmark.sh
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+EMAIL=${BENCH_EMAIL:-startup-bench@example.com}
+PASSWORD=${BENCH_PASSWORD:-Startup#Bench1}
+JAR=target/cds/authservice-0.0.1-SNAPSHOT.jar
+ARCHIVE=target/cds/application.jsa
+NATIVE=target/authservice
+RESULTS=${RESULTS:-target/startup-benchmark.md}
+BASE="http://localhost:${PORT}"
+LOGIN_BODY="{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}"
+
+if [[ ! -f "$JAR" ]]; then
+    echo "Missing $JAR; build it with: mvn -Paot-cds package" >&2
+    exit 1
+fi
+
+declare -A COMMANDS=(
+    [jvm]="java -jar $JAR --server.port=$PORT"
+    [aot]="java -Dspring.aot.enabled=true -jar $JAR --server.port=$PORT"
+    [aot-cds]="java -XX:SharedArchiveFile=$ARCHIVE -Dspring.aot.enabled=true -jar $JAR --server.port=$PORT"
+)
+MODES=(jvm aot aot-cds)
+if [[ -x "$NATIVE" ]]; then
+    COMMANDS[native]="$NATIVE --server.port=$PORT"
+    MODES+=(native)
+else
+    echo "No native image at $NATIVE (mvn -Pnative native:compile); skipping native mode" >&2
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts one mode and prints "<started ms> <first login ms>".
+measure() {
+    local log
+    log=$(mktemp)
+    local start
+    start=$(now_ms)
+    ${COMMANDS[$1]} >"$log" 2>&1 &
+    local pid=$!
+
+    local login=""
+    for _ in $(seq 1 1200); do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$1 exited during startup, log in $log" >&2
+            exit 1
+        fi
+        if curl -sf -o /dev/null -H 'Content-Type: application/json' -d "$LOGIN_BODY" "$BASE/api/auth/login"; then
+            login=$(( $(now_ms) - start ))
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    if [[ -z "$login" ]]; then
+        echo "$1 did not accept a login within 60s, log in $log" >&2
+        exit 1
+    fi
+
+    local started
+    started=$(grep -o 'Started AuthserviceApplication in [0-9.]* seconds' "$log" | awk '{ printf "%d", $4 * 1000 }')
+    rm -f "$log"
+    echo "${started:-0} $login"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# Seed the benchmark user once; a 4xx because it already exists is fine.
+${COMMANDS[jvm]} >/dev/null 2>&1 &
+seed_pid=$!
+until curl -s -o /dev/null "$BASE/actuator/health"; do sleep 0.2; done
+curl -s -o /dev/null -H 'Content-Type: application/json' \
+    -d "{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\",\"confirmPassword\":\"${PASSWORD}\"}" \
+    "$BASE/api/auth/register" || true
+kill "$seed_pid"
+wait "$seed_pid" 2>/dev/null || true
+
+{
+    echo "| mode | started (ms, median of $RUNS) | first login (ms, median of $RUNS) |"
+    echo "|------|------:|------:|"
+} >"$RESULTS"
+
+for mode in "${MODES[@]}"; do
+    started=()
+    login=()
+    for _ in $(seq 1 "$RUNS"); do
+        read -r s l < <(measure "$mode")
+        started+=("$s")
+        login+=("$l")
+    done
+    echo "| $mode | $(printf '%s\n' "${started[@]}" | median) | $(printf '%s\n' "${login[@]}" | median) |" >>"$RESULTS"
+done
+
+cat "$RESULTS"
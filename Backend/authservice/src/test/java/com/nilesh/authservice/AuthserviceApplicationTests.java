@@ -1,9 +1,12 @@
 package com.nilesh.authservice;
 
+import com.nilesh.authservice.support.EmbeddedPostgresInitializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
 
 @SpringBootTest
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
 class AuthserviceApplicationTests {
 
 	@Test
@@ -0,0 +1,47 @@
+package com.nilesh.authservice.config;
+
+import com.nilesh.authservice.dto.ActivityEventDto;
+import com.nilesh.authservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsTests {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	NativeHintsTests() {
+		new NativeHints.Registrar().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void dtosAreBoundByJackson() throws Exception {
+		assertThat(RuntimeHintsPredicates.reflection()
+				.onMethod(ActivityEventDto.class.getMethod("getUserEmail")))
+				.accepts(hints);
+	}
+
+	@Test
+	void entitiesKeepTheirConstructorsAndFields() throws Exception {
+		assertThat(RuntimeHintsPredicates.reflection().onType(User.class)
+				.withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS))
+				.accepts(hints);
+	}
+
+	@Test
+	void jjwtImplementationsCanBeInstantiatedByName() throws Exception {
+		for (String type : NativeHints.JJWT_CLASSES) {
+			assertThat(Class.forName(type)).isNotNull();
+			assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+					.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+					.accepts(hints);
+		}
+		assertThat(RuntimeHintsPredicates.resource()
+				.forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+				.accepts(hints);
+	}
+}
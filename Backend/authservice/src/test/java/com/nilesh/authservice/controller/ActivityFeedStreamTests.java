@@ -0,0 +1,111 @@
+package com.nilesh.authservice.controller;
+
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.service.ActivityFeedService;
+import com.nilesh.authservice.support.BudgetTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Reads the SSE body of {@code /api/admin/logs/stream} while the async request is still open.
+ * Shares the budget tests' application context; nothing here is measured.
+ */
+class ActivityFeedStreamTests extends BudgetTestSupport {
+
+	@Autowired
+	private ActivityFeedService activityFeedService;
+
+	private final String marker = "feed-" + UUID.randomUUID();
+	private String bearer;
+
+	@BeforeEach
+	void createAdmin() {
+		bearer = bearer(saveUser(marker + "-admin@example.com", "unused", Role.ADMIN));
+	}
+
+	@Test
+	void subscriberReceivesNewEntries() throws Exception {
+		MockHttpServletResponse stream = subscribe(null);
+
+		long id = publish("live");
+
+		awaitContent(stream, marker + "-live");
+		assertThat(stream.getContentAsString())
+				.contains("id:" + id)
+				.contains("event:activity");
+	}
+
+	@Test
+	void lastEventIdReplaysOnlyMissedEntries() throws Exception {
+		long seen = publish("seen");
+		long missed = publish("missed");
+
+		MockHttpServletResponse stream = subscribe(seen);
+
+		awaitContent(stream, marker + "-missed");
+		assertThat(stream.getContentAsString())
+				.contains("id:" + missed)
+				.doesNotContain(marker + "-seen");
+	}
+
+	@Test
+	void idFromBeforeARestartGetsAResetInsteadOfAReplay() throws Exception {
+		long latest = publish("before-reconnect");
+
+		// A small id was issued by an earlier run of this node
+		MockHttpServletResponse stream = subscribe(42L);
+
+		awaitContent(stream, "event:reset");
+		assertThat(stream.getContentAsString())
+				.contains("id:" + latest)
+				.doesNotContain(marker + "-before-reconnect");
+	}
+
+	@Test
+	void idThisNodeHasNotIssuedYetGetsAReset() throws Exception {
+		long latest = publish("current");
+
+		// Another node, or a later run, is ahead of this one
+		MockHttpServletResponse stream = subscribe(latest + 1_000_000);
+
+		awaitContent(stream, "event:reset");
+		assertThat(stream.getContentAsString()).doesNotContain(marker + "-current");
+		assertThat(latest).as("ids start from the startup time").isGreaterThan(1_600_000_000_000L << 10);
+	}
+
+	private MockHttpServletResponse subscribe(Long lastEventId) throws Exception {
+		var builder = get("/api/admin/logs/stream").header(HttpHeaders.AUTHORIZATION, bearer);
+		if (lastEventId != null) {
+			builder.header("Last-Event-ID", lastEventId);
+		}
+		return mockMvc.perform(builder)
+				.andExpect(request().asyncStarted())
+				.andReturn()
+				.getResponse();
+	}
+
+	private long publish(String suffix) {
+		return activityFeedService.publish(UUID.randomUUID().toString(), marker + "@example.com", "USER_LOGIN",
+				"127.0.0.1", marker + "-" + suffix, new Date());
+	}
+
+	private static void awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!stream.getContentAsString().contains(expected)) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("stream did not contain " + expected + ": " + stream.getContentAsString());
+			}
+			Thread.sleep(20);
+		}
+	}
+}
@@ -0,0 +1,285 @@
+package com.nilesh.authservice.controller;
+
+import com.nilesh.authservice.dto.BulkUserUpdateDto;
+import com.nilesh.authservice.model.ActivityLog;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.model.UserStatus;
+import com.nilesh.authservice.repository.ActivityLogRepository;
+import com.nilesh.authservice.service.DashboardStatsService;
+import com.nilesh.authservice.service.UserBulkUpdateService;
+import com.nilesh.authservice.support.BudgetTestSupport;
+import com.nilesh.authservice.support.RequestBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement and allocation budgets for {@link AdminController}. List and bulk endpoints are
+ * measured with many users and log entries, so a per-row query shows up as a budget failure.
+ */
+class AdminControllerBudgetTests extends BudgetTestSupport {
+
+	private static final int USERS = 25;
+	// The unpaged lists return every row in the shared test database, so their budgets scale with it.
+	private static final long PER_USER_ROW = 8 * KB;
+	private static final long PER_LOG_ROW = 9 * KB;
+
+	@Autowired
+	private ActivityLogRepository activityLogRepository;
+
+	@Autowired
+	private UserBulkUpdateService userBulkUpdateService;
+
+	@Autowired
+	private DashboardStatsService dashboardStatsService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final String prefix = "admin-budget-" + UUID.randomUUID();
+	private final AtomicInteger imports = new AtomicInteger();
+	private final List<User> users = new ArrayList<>();
+	private User admin;
+	private String bearer;
+
+	@BeforeEach
+	void createUsersWithActivity() {
+		String hash = passwordEncoder.encode("Secret#123");
+		admin = saveUser(prefix + "-admin@example.com", hash, Role.ADMIN);
+		for (int i = 0; i < USERS; i++) {
+			User user = saveUser(prefix + "-" + i + "@example.com", hash, Role.USER);
+			users.add(user);
+			activityLogRepository.save(ActivityLog.builder()
+					.user(user)
+					.action("USER_LOGIN")
+					.ipAddress("127.0.0.1")
+					.details("Seeded for budget test.")
+					.build());
+		}
+		bearer = bearer(admin);
+	}
+
+	@Test
+	void userListRunsTwoStatements() throws Exception {
+		long rows = userRepository.count();
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/admin/users")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).isLessThanOrEqualTo(2);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(260 * KB + rows * PER_USER_ROW);
+	}
+
+	@Test
+	void userListPageLoadsOnlyThatPage() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/admin/users")
+						.param("page", "0")
+						.param("size", "10")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(10)));
+
+		assertThat(cost.statements()).as("user lookup, version query, page").isLessThanOrEqualTo(3);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(380 * KB);
+	}
+
+	@Test
+	void userWithoutPermissionIsDeniedWithoutExtraQueries() throws Exception {
+		String userBearer = bearer(users.get(0));
+
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/admin/users")
+						.header(HttpHeaders.AUTHORIZATION, userBearer))
+				.andExpect(status().isForbidden()));
+
+		assertThat(cost.statements()).as("permissions come from the token, not the database").isLessThanOrEqualTo(1);
+	}
+
+	@Test
+	void unchangedUserListIsNotModifiedWithoutLoadingRows() throws Exception {
+		String etag = mockMvc.perform(get("/api/admin/users")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/admin/users")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified()));
+
+		assertThat(cost.statements()).as("filter lookup + version query").isLessThanOrEqualTo(2);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(260 * KB);
+	}
+
+	@Test
+	void logListFetchesUsersInTheSameQuery() throws Exception {
+		long rows = activityLogRepository.count();
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/admin/logs")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("eager ActivityLog.user must not cause N+1 selects").isLessThanOrEqualTo(2);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(260 * KB + rows * PER_LOG_ROW);
+	}
+
+	@Test
+	void statsAreServedFromMemory() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/admin/stats")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("user lookup in the JWT filter only").isLessThanOrEqualTo(1);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(270 * KB);
+	}
+
+	@Test
+	void statusUpdateRunsAtMostThreeStatements() throws Exception {
+		String id = users.get(0).getId();
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(put("/api/admin/users/" + id + "/status")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"status\":\"SUSPENDED\"}"))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).isLessThanOrEqualTo(3);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(300 * KB);
+	}
+
+	@Test
+	void bulkUpdateCostDoesNotGrowWithTargets() throws Exception {
+		String ids = users.stream().map(user -> "\"" + user.getId() + "\"").collect(Collectors.joining(","));
+		AtomicInteger calls = new AtomicInteger();
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(put("/api/admin/users/bulk")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\":[" + ids + "],\"status\":\""
+								+ (calls.incrementAndGet() % 2 == 0 ? "ACTIVE" : "SUSPENDED") + "\"}"))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("filter lookup, resolve, update, log batch").isLessThanOrEqualTo(4);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(480 * KB);
+	}
+
+	@Test
+	void bulkUpdateWithAnEmptyFilterIsRejected() throws Exception {
+		mockMvc.perform(put("/api/admin/users/bulk")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"filter\":{},\"status\":\"SUSPENDED\"}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void bulkUpdateSkipsTheActorAndUnknownIds() throws Exception {
+		String target = users.get(0).getId();
+
+		mockMvc.perform(put("/api/admin/users/bulk")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\":[\"" + admin.getId() + "\",\"" + target + "\",\"" + UUID.randomUUID()
+								+ "\"],\"status\":\"SUSPENDED\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.matched").value(1))
+				.andExpect(jsonPath("$.updated").value(1));
+
+		assertThat(userRepository.findById(admin.getId()).orElseThrow().getStatus()).isEqualTo(UserStatus.ACTIVE);
+		assertThat(userRepository.findById(target).orElseThrow().getStatus()).isEqualTo(UserStatus.SUSPENDED);
+	}
+
+	@Test
+	void bulkUpdateMovesDashboardCountersOnlyOnCommit() {
+		User target = users.get(0);
+		BulkUserUpdateDto update = new BulkUserUpdateDto();
+		update.setIds(List.of(target.getId()));
+		update.setStatus(UserStatus.SUSPENDED);
+		long suspended = suspendedCount();
+
+		// Joins the outer transaction, which is then rolled back
+		transactionTemplate.executeWithoutResult(status -> {
+			userBulkUpdateService.apply(update, admin.getId(), admin.getEmail(), "127.0.0.1");
+			status.setRollbackOnly();
+		});
+		assertThat(userRepository.findById(target.getId()).orElseThrow().getStatus()).isEqualTo(UserStatus.ACTIVE);
+		assertThat(suspendedCount()).isEqualTo(suspended);
+
+		userBulkUpdateService.apply(update, admin.getId(), admin.getEmail(), "127.0.0.1");
+		assertThat(suspendedCount()).isEqualTo(suspended + 1);
+	}
+
+	@Test
+	void importCostDoesNotGrowWithRows() throws Exception {
+		String hash = users.get(0).getPassword();
+		RequestBudget.Cost cost = RequestBudget.measure(() -> {
+			StringBuilder csv = new StringBuilder("email,passwordHash,role\n");
+			int batch = imports.incrementAndGet();
+			for (int i = 0; i < USERS; i++) {
+				csv.append(prefix).append("-import-").append(batch).append('-').append(i)
+						.append("@example.com,").append(hash).append(",USER\n");
+			}
+			mockMvc.perform(post("/api/admin/users/import")
+							.header(HttpHeaders.AUTHORIZATION, bearer)
+							.contentType("text/csv")
+							.content(csv.toString()))
+					.andExpect(status().isOk());
+		});
+
+		assertThat(cost.statements()).as("filter lookup, duplicate check, insert batch").isLessThanOrEqualTo(3);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(560 * KB);
+	}
+
+	@Test
+	void importWithoutEmailColumnIsABadRequest() throws Exception {
+		mockMvc.perform(post("/api/admin/users/import")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType("text/csv")
+						.content("name,password\nsomeone,Secret#123\n"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("CSV header must contain an email column"));
+	}
+
+	@Test
+	void logEntriesCarryOnlyTheUserIdAndEmailSoUserChangesKeepTheETag() throws Exception {
+		var response = mockMvc.perform(get("/api/admin/logs")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].user.id").exists())
+				.andExpect(jsonPath("$[0].user.email").exists())
+				.andExpect(jsonPath("$[0].user.password").doesNotExist())
+				.andExpect(jsonPath("$[0].user.status").doesNotExist())
+				.andReturn().getResponse();
+		String body = response.getContentAsString();
+
+		User changed = users.get(0);
+		changed.setStatus(UserStatus.SUSPENDED);
+		changed.setAvatar("/api/users/avatars/changed.png");
+		userRepository.save(changed);
+
+		mockMvc.perform(get("/api/admin/logs")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG)))
+				.andExpect(status().isNotModified());
+		assertThat(mockMvc.perform(get("/api/admin/logs")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andReturn().getResponse().getContentAsString()).isEqualTo(body);
+	}
+
+	private long suspendedCount() {
+		return dashboardStatsService.snapshot().getUsersByStatus().get(UserStatus.SUSPENDED.name());
+	}
+}
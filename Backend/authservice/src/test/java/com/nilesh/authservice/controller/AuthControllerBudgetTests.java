@@ -0,0 +1,109 @@
+package com.nilesh.authservice.controller;
+
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.support.BudgetTestSupport;
+import com.nilesh.authservice.support.RequestBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement and allocation budgets for {@link AuthController}. The activity-log insert made
+ * by a successful login runs on the async writer and is not part of the request's budget.
+ * One BCrypt hash or check allocates about 2 MB, which dominates the login and register budgets.
+ */
+class AuthControllerBudgetTests extends BudgetTestSupport {
+
+	private final String prefix = "auth-budget-" + UUID.randomUUID();
+	private final AtomicInteger registrations = new AtomicInteger();
+	private String email;
+
+	@BeforeEach
+	void createUser() {
+		email = prefix + "@example.com";
+		saveUser(email, passwordEncoder.encode("Secret#123"), Role.USER);
+	}
+
+	@Test
+	void loginRunsAtMostTwoStatements() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"password\":\"Secret#123\"}"))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("select user + update last login").isLessThanOrEqualTo(2);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(2650 * KB);
+	}
+
+	@Test
+	void failedLoginRunsOneStatement() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"password\":\"wrong\"}"))
+				.andExpect(status().isUnauthorized()));
+
+		assertThat(cost.statements()).isLessThanOrEqualTo(1);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(2600 * KB);
+	}
+
+	@Test
+	void registerRunsAtMostTwoStatements() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + prefix + "-" + registrations.incrementAndGet() + "@example.com\","
+								+ "\"password\":\"Secret#123\",\"confirmPassword\":\"Secret#123\",\"role\":\"USER\"}"))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("email check + insert").isLessThanOrEqualTo(2);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(2600 * KB);
+	}
+
+	@Test
+	void duplicateRegistrationIsAConflict() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\","
+								+ "\"password\":\"Secret#123\",\"confirmPassword\":\"Secret#123\",\"role\":\"USER\"}"))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.message").value("Email already in use")));
+
+		assertThat(cost.statements()).as("email check only").isLessThanOrEqualTo(1);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(260 * KB);
+	}
+
+	@Test
+	void emailsAreMatchedCaseInsensitively() throws Exception {
+		String shouted = "  " + email.toUpperCase() + " ";
+
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + shouted + "\",\"password\":\"Secret#123\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.email").value(email));
+		mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + shouted + "\","
+								+ "\"password\":\"Secret#123\",\"confirmPassword\":\"Secret#123\",\"role\":\"USER\"}"))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void unknownOrMissingRoleIsABadRequest() throws Exception {
+		for (String role : new String[]{",\"role\":\"SUPERUSER\"", ""}) {
+			mockMvc.perform(post("/api/auth/register")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"email\":\"" + prefix + "-role-" + registrations.incrementAndGet() + "@example.com\","
+									+ "\"password\":\"Secret#123\",\"confirmPassword\":\"Secret#123\"" + role + "}"))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.message").value("Role must be one of [ADMIN, USER]"));
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.nilesh.authservice.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.support.BudgetTestSupport;
+import com.nilesh.authservice.support.RequestBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Avatar upload and serving. Serving an avatar reads a file by its content hash and must
+ * not touch the database at all.
+ */
+@TestPropertySource(properties = "avatar.storage.dir=target/test-avatars")
+class AvatarControllerBudgetTests extends BudgetTestSupport {
+
+	// 1x1 transparent PNG
+	private static final byte[] PNG = Base64.getDecoder().decode(
+			"iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+	private String bearer;
+
+	@BeforeEach
+	void createUser() {
+		User user = saveUser("avatar-budget-" + UUID.randomUUID() + "@example.com", null, Role.USER);
+		bearer = bearer(user);
+	}
+
+	@Test
+	void uploadedAvatarIsServedWithoutQueries() throws Exception {
+		String url = upload();
+
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+				.andExpect(content().contentType("image/png"))
+				.andExpect(content().bytes(PNG)));
+
+		assertThat(cost.statements()).isZero();
+	}
+
+	@Test
+	void sendfileConnectorGetsTheFileInsteadOfTheBytes() throws Exception {
+		String url = upload();
+		String reference = url.substring(url.lastIndexOf('/') + 1);
+
+		mockMvc.perform(get(url).requestAttr("org.apache.tomcat.sendfile.support", true))
+				.andExpect(status().isOk())
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, PNG.length))
+				.andExpect(request().attribute("org.apache.tomcat.sendfile.filename", endsWith(reference)))
+				.andExpect(request().attribute("org.apache.tomcat.sendfile.start", 0L))
+				.andExpect(request().attribute("org.apache.tomcat.sendfile.end", (long) PNG.length))
+				.andExpect(content().bytes(new byte[0]));
+	}
+
+	@Test
+	void dataUrlAvatarIsStoredByHash() throws Exception {
+		String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+
+		mockMvc.perform(put("/api/users/me/avatar")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"avatar\":\"" + dataUrl + "\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.avatar").value(matchesPattern("/api/avatars/[0-9a-f]{64}\\.png")));
+	}
+
+	@Test
+	void nonImageUploadIsRejected() throws Exception {
+		mockMvc.perform(put("/api/users/me/avatar")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType("image/png")
+						.content("not an image".getBytes()))
+				.andExpect(status().isBadRequest());
+	}
+
+	private String upload() throws Exception {
+		return JsonPath.read(mockMvc.perform(put("/api/users/me/avatar")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType("image/png")
+						.content(PNG))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.avatar").value(startsWith("/api/avatars/")))
+				.andReturn().getResponse().getContentAsString(), "$.avatar");
+	}
+}
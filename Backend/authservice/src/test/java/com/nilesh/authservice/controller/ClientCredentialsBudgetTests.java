@@ -0,0 +1,188 @@
+package com.nilesh.authservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.ServiceClient;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.repository.ServiceClientRepository;
+import com.nilesh.authservice.service.ServiceClientService;
+import com.nilesh.authservice.support.BudgetTestSupport;
+import com.nilesh.authservice.support.RequestBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budgets for the client_credentials grant. A service that asks for a token on every call should
+ * get the cached one back without a database round trip or another BCrypt check.
+ */
+class ClientCredentialsBudgetTests extends BudgetTestSupport {
+
+	@Autowired
+	private ServiceClientService serviceClientService;
+
+	@Autowired
+	private ServiceClientRepository serviceClientRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private String clientId;
+	private String secret;
+
+	@BeforeEach
+	void createClient() {
+		ServiceClientService.CreatedClient created = serviceClientService.create("reporting", List.of("stats.read", "logs.read"));
+		clientId = created.client().getClientId();
+		secret = created.secret();
+	}
+
+	@Test
+	void repeatedTokenRequestReusesTheTokenWithoutStatements() throws Exception {
+		List<String> tokens = new ArrayList<>();
+		RequestBudget.Cost cost = RequestBudget.measure(() -> tokens.add(requestToken("stats.read")));
+
+		assertThat(cost.statements()).as("client and verified secret come from cache").isZero();
+		assertThat(tokens).hasSize(2);
+		assertThat(tokens.get(1)).isEqualTo(tokens.get(0));
+	}
+
+	@Test
+	void basicCredentialsAreAccepted() throws Exception {
+		String basic = Base64.getEncoder().encodeToString((clientId + ":" + secret).getBytes(StandardCharsets.UTF_8));
+
+		mockMvc.perform(post("/api/auth/token")
+						.header(HttpHeaders.AUTHORIZATION, "Basic " + basic)
+						.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+						.param("grant_type", "client_credentials"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+				.andExpect(jsonPath("$.token_type").value("Bearer"))
+				.andExpect(jsonPath("$.scope").value("logs.read stats.read"));
+	}
+
+	@Test
+	void wrongSecretIsInvalidClient() throws Exception {
+		mockMvc.perform(tokenRequest("stats.read").param("client_secret", "not-the-secret"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.error").value("invalid_client"));
+	}
+
+	@Test
+	void ungrantedScopeIsInvalidScope() throws Exception {
+		mockMvc.perform(tokenRequest("users.write").param("client_secret", secret))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("invalid_scope"));
+	}
+
+	@Test
+	void clientTokenIsLimitedToItsScope() throws Exception {
+		String bearer = "Bearer " + requestToken("stats.read");
+
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/admin/stats")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk()));
+		mockMvc.perform(get("/api/admin/logs").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isForbidden());
+
+		assertThat(cost.statements()).as("the client is cached, there is no user lookup").isZero();
+	}
+
+	@Test
+	void userOnlyScopesAreNotGrantedToClients() {
+		assertThatThrownBy(() -> serviceClientService.create("profile-reader", List.of("stats.read", "profile.read")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("profile.read");
+	}
+
+	@Test
+	void creatingAClientWithAUserOnlyScopeIsAJsonBadRequest() throws Exception {
+		String admin = bearer(saveUser("client-admin-" + UUID.randomUUID() + "@example.com", "unused", Role.ADMIN));
+
+		mockMvc.perform(post("/api/admin/clients")
+						.header(HttpHeaders.AUTHORIZATION, admin)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"profile-reader\",\"scopes\":[\"profile.read\"]}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.message").value("Scope profile.read can only be granted to users"));
+	}
+
+	@Test
+	void clientWithNoUsableScopeGetsInvalidScope() throws Exception {
+		// Stored before user-only scopes were refused at creation
+		String legacySecret = "legacy-secret";
+		ServiceClient legacy = serviceClientRepository.save(ServiceClient.builder()
+				.clientId("svc_legacy_" + UUID.randomUUID().toString().replace("-", ""))
+				.secretHash(passwordEncoder.encode(legacySecret))
+				.name("legacy")
+				.scopes("profile.read no.such.scope")
+				.build());
+
+		mockMvc.perform(post("/api/auth/token")
+						.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+						.param("grant_type", "client_credentials")
+						.param("client_id", legacy.getClientId())
+						.param("client_secret", legacySecret))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("invalid_scope"));
+	}
+
+	@Test
+	void clientTokenCanBulkUpdateUsers() throws Exception {
+		ServiceClientService.CreatedClient writer = serviceClientService.create("provisioning", List.of("users.write"));
+		String body = mockMvc.perform(post("/api/auth/token")
+						.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+						.param("grant_type", "client_credentials")
+						.param("client_id", writer.client().getClientId())
+						.param("client_secret", writer.secret()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String bearer = "Bearer " + objectMapper.readTree(body).get("access_token").asText();
+		User target = saveUser("client-target-" + UUID.randomUUID() + "@example.com", "unused", Role.USER);
+
+		mockMvc.perform(put("/api/admin/users/bulk")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\":[\"" + target.getId() + "\"],\"status\":\"SUSPENDED\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.matched").value(1))
+				.andExpect(jsonPath("$.updated").value(1));
+	}
+
+	private String requestToken(String scope) throws Exception {
+		String body = mockMvc.perform(tokenRequest(scope).param("client_secret", secret))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode json = objectMapper.readTree(body);
+		return json.get("access_token").asText();
+	}
+
+	private MockHttpServletRequestBuilder tokenRequest(String scope) {
+		return post("/api/auth/token")
+				.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+				.param("grant_type", "client_credentials")
+				.param("client_id", clientId)
+				.param("scope", scope);
+	}
+}
@@ -0,0 +1,109 @@
+package com.nilesh.authservice.controller;
+
+import com.nilesh.authservice.model.ActivityLog;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.repository.ActivityLogRepository;
+import com.nilesh.authservice.support.BudgetTestSupport;
+import com.nilesh.authservice.support.RequestBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement and allocation budgets for {@link UserController}. Every request pays one
+ * select in the JWT filter to load the user; /me must not pay anything more.
+ */
+class UserControllerBudgetTests extends BudgetTestSupport {
+
+	@Autowired
+	private ActivityLogRepository activityLogRepository;
+
+	private String bearer;
+
+	@BeforeEach
+	void createUserWithActivity() {
+		User user = saveUser("user-budget-" + UUID.randomUUID() + "@example.com", passwordEncoder.encode("Secret#123"), Role.USER);
+		for (int i = 0; i < 10; i++) {
+			activityLogRepository.save(ActivityLog.builder()
+					.user(user)
+					.action("USER_LOGIN")
+					.ipAddress("127.0.0.1")
+					.details("Seeded for budget test.")
+					.build());
+		}
+		bearer = bearer(user);
+	}
+
+	@Test
+	void meRunsOneStatement() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/users/me")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("user lookup in the JWT filter only").isLessThanOrEqualTo(1);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(270 * KB);
+	}
+
+	@Test
+	void unchangedMeIsNotModifiedWithoutExtraQueries() throws Exception {
+		String etag = mockMvc.perform(get("/api/users/me")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/users/me")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified()));
+
+		assertThat(cost.statements()).as("user lookup in the JWT filter only").isLessThanOrEqualTo(1);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(270 * KB);
+	}
+
+	@Test
+	void activityDoesNotSelectUsersPerEntry() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(get("/api/users/me/activity")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("filter lookup + one fetch-joined log query").isLessThanOrEqualTo(2);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(430 * KB);
+	}
+
+	@Test
+	void avatarUpdateRunsAtMostThreeStatements() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(put("/api/users/me/avatar")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"avatar\":\"https://example.com/avatar.png\"}"))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).isLessThanOrEqualTo(3);
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(340 * KB);
+	}
+
+	@Test
+	void passwordChangeRunsAtMostThreeStatements() throws Exception {
+		RequestBudget.Cost cost = RequestBudget.measure(() -> mockMvc.perform(post("/api/users/me/password")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"currentPassword\":\"Secret#123\",\"newPassword\":\"Secret#123\","
+								+ "\"confirmPassword\":\"Secret#123\"}"))
+				.andExpect(status().isOk()));
+
+		assertThat(cost.statements()).as("the activity log is written asynchronously").isLessThanOrEqualTo(3);
+		// Checking the current password and hashing the new one are two BCrypt runs of about 2 MB each
+		assertThat(cost.allocatedBytes()).isLessThanOrEqualTo(5000 * KB);
+	}
+}
@@ -0,0 +1,62 @@
+package com.nilesh.authservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written JSON must be byte-for-byte what Boot's auto-configured ObjectMapper, the one
+ * MVC uses, would have produced, so switching serializers is invisible to clients.
+ */
+@JsonTest
+class DtoJsonWriterTests {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void userDtoMatchesJackson() throws Exception {
+		UserDto user = new UserDto();
+		user.setId("4f1c2a9e-6a0b-4d8e-9d2a-0c7c1f3e5b11");
+		user.setEmail("jöhn.\"q\"\\doe@example.com");
+		user.setRole(Role.ADMIN);
+		user.setProvider(AuthProvider.GITHUB);
+		user.setStatus(UserStatus.SUSPENDED);
+		user.setLastLogin(new Timestamp(1_700_000_000_123L));
+		user.setAvatar("data:image/png;base64,AAAA\n\t\u0001");
+
+		assertThat(json(DtoJsonWriter.write(user))).isEqualTo(objectMapper.writeValueAsString(user));
+	}
+
+	@Test
+	void userDtoWithNullsMatchesJackson() throws Exception {
+		UserDto user = new UserDto();
+		user.setId("id");
+		user.setEmail("new@example.com");
+		user.setRole(Role.USER);
+		user.setProvider(AuthProvider.EMAIL);
+		user.setStatus(UserStatus.ACTIVE);
+
+		assertThat(json(DtoJsonWriter.write(user))).isEqualTo(objectMapper.writeValueAsString(user));
+	}
+
+	@Test
+	void authResponseMatchesJackson() throws Exception {
+		AuthResponseDto response = new AuthResponseDto("eyJhbGciOiJIUzI1NiJ9.e30.sig", "a@example.com", "USER", "EMAIL");
+
+		assertThat(json(DtoJsonWriter.write(response))).isEqualTo(objectMapper.writeValueAsString(response));
+	}
+
+	private static String json(byte[] bytes) {
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,35 @@
+package com.nilesh.authservice.exception;
+
+import com.nilesh.authservice.model.AuthProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitedLogTests {
+
+	@Test
+	void linesOverTheLimitAreCountedAndReportedWithTheNextWindow() throws InterruptedException {
+		RateLimitedLog log = new RateLimitedLog(2, Duration.ofMillis(50).toNanos());
+
+		assertThat(log.acquire("a")).isZero();
+		assertThat(log.acquire("a")).isZero();
+		assertThat(log.acquire("a")).isEqualTo(-1);
+		assertThat(log.acquire("a")).isEqualTo(-1);
+		assertThat(log.acquire("b")).as("keys are limited separately").isZero();
+
+		Thread.sleep(60);
+
+		assertThat(log.acquire("a")).isEqualTo(2);
+		assertThat(log.acquire("a")).isZero();
+	}
+
+	@Test
+	void expectedFailuresAreStacklessAndShared() {
+		assertThat(InvalidCredentialsException.INSTANCE.getStackTrace()).isEmpty();
+		assertThat(WrongProviderException.of(AuthProvider.GOOGLE))
+				.isSameAs(WrongProviderException.of(AuthProvider.GOOGLE))
+				.hasMessage("Please login using GOOGLE");
+	}
+}
@@ -0,0 +1,309 @@
+package com.nilesh.authservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nilesh.authservice.support.EmbeddedPostgresInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application against an embedded Postgres, seeds users and drives a mix of
+ * logins, profile reads, avatar updates and admin listings from concurrent clients.
+ * Prints throughput and p50/p99/p99.9 latency per endpoint, connection-pool pressure and GC
+ * activity, and writes the same report to target/loadtest-report.txt.
+ *
+ * Excluded from the normal build; run with {@code mvn -Ploadtest test}. Tunables (system properties):
+ * loadtest.users, loadtest.concurrency, loadtest.duration-seconds, loadtest.mix (e.g. login:10,me:70,avatar:10,admin:10).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+class LoadTest {
+
+	private static final String PASSWORD = "LoadTest#2024";
+	private static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+
+	enum Endpoint { LOGIN, ME, AVATAR, ADMIN_USERS }
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	@Test
+	void driveMixedLoad() throws Exception {
+		int users = Integer.getInteger("loadtest.users", 1000);
+		int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+		Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+		Map<Endpoint, Integer> mix = parseMix(System.getProperty("loadtest.mix", "login:10,me:70,avatar:10,admin:10"));
+
+		seed(users);
+		String adminToken = login(ADMIN_EMAIL);
+
+		PoolSampler poolSampler = new PoolSampler(((HikariDataSource) dataSource).getHikariPoolMXBean());
+		long gcCountBefore = gcCount();
+		long gcTimeBefore = gcTime();
+
+		long deadline = System.nanoTime() + duration.toNanos();
+		AtomicInteger errors = new AtomicInteger();
+		List<Future<Map<Endpoint, LatencyLog>>> workers = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < concurrency; i++) {
+				String email = userEmail(i % users);
+				workers.add(executor.submit(() -> runWorker(email, adminToken, mix, deadline, errors)));
+			}
+		}
+		poolSampler.stop();
+
+		Map<Endpoint, LatencyLog> merged = new EnumMap<>(Endpoint.class);
+		for (Future<Map<Endpoint, LatencyLog>> worker : workers) {
+			worker.get().forEach((endpoint, log) -> merged.computeIfAbsent(endpoint, e -> new LatencyLog()).addAll(log));
+		}
+
+		String report = report(merged, duration, concurrency, users, errors.get(), poolSampler,
+				gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+		System.out.println(report);
+		Files.writeString(Path.of("target", "loadtest-report.txt"), report);
+
+		long total = merged.values().stream().mapToLong(LatencyLog::size).sum();
+		assertThat(total).isPositive();
+		assertThat(errors.get()).as("failed requests").isLessThanOrEqualTo((int) (total / 100));
+	}
+
+	private Map<Endpoint, LatencyLog> runWorker(String email, String adminToken, Map<Endpoint, Integer> mix,
+												long deadline, AtomicInteger errors) throws Exception {
+		Map<Endpoint, LatencyLog> logs = new EnumMap<>(Endpoint.class);
+		String token = login(email);
+		int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+		while (System.nanoTime() < deadline) {
+			Endpoint endpoint = pick(mix, ThreadLocalRandom.current().nextInt(totalWeight));
+			HttpRequest request = switch (endpoint) {
+				case LOGIN -> loginRequest(email);
+				case ME -> get("/api/users/me", token);
+				case AVATAR -> authorized("/api/users/me/avatar", token)
+						.header("Content-Type", "application/json")
+						.PUT(HttpRequest.BodyPublishers.ofString(
+								"{\"avatar\":\"https://example.com/avatars/" + UUID.randomUUID() + ".png\"}"))
+						.build();
+				case ADMIN_USERS -> get("/api/admin/users", adminToken);
+			};
+
+			long start = System.nanoTime();
+			try {
+				HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+				if (response.statusCode() >= 400) {
+					errors.incrementAndGet();
+				}
+			} catch (IOException e) {
+				errors.incrementAndGet();
+			}
+			logs.computeIfAbsent(endpoint, e -> new LatencyLog()).add(System.nanoTime() - start);
+		}
+		return logs;
+	}
+
+	/**
+	 * Inserts the users directly with one pre-computed hash, so seeding stays fast
+	 * while logins still pay the full password check.
+	 */
+	private void seed(int users) {
+		String hash = passwordEncoder.encode(PASSWORD);
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		List<Object[]> rows = new ArrayList<>(users + 1);
+		IntStream.range(0, users).forEach(i -> rows.add(new Object[]{
+				UUID.randomUUID().toString(), userEmail(i), hash, "USER", "EMAIL", "ACTIVE", now, now}));
+		rows.add(new Object[]{UUID.randomUUID().toString(), ADMIN_EMAIL, hash, "ADMIN", "EMAIL", "ACTIVE", now, now});
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO users (id, email, password, role, provider, status, created_at, updated_at)
+				VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (email) DO NOTHING""", rows);
+	}
+
+	private String login(String email) throws Exception {
+		HttpResponse<String> response = httpClient.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).as("login for %s", email).isEqualTo(200);
+		return objectMapper.readTree(response.body()).get("token").asText();
+	}
+
+	private HttpRequest loginRequest(String email) {
+		return HttpRequest.newBuilder(uri("/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(
+						"{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+				.build();
+	}
+
+	private HttpRequest get(String path, String token) {
+		return authorized(path, token).GET().build();
+	}
+
+	private HttpRequest.Builder authorized(String path, String token) {
+		return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static String userEmail(int index) {
+		return "loadtest-user-" + index + "@example.com";
+	}
+
+	private static Endpoint pick(Map<Endpoint, Integer> mix, int roll) {
+		for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+			roll -= entry.getValue();
+			if (roll < 0) {
+				return entry.getKey();
+			}
+		}
+		throw new IllegalStateException("empty mix");
+	}
+
+	private static Map<Endpoint, Integer> parseMix(String spec) {
+		Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+		for (String part : spec.split(",")) {
+			String[] kv = part.trim().split(":");
+			Endpoint endpoint = switch (kv[0]) {
+				case "login" -> Endpoint.LOGIN;
+				case "me" -> Endpoint.ME;
+				case "avatar" -> Endpoint.AVATAR;
+				case "admin" -> Endpoint.ADMIN_USERS;
+				default -> throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + kv[0]);
+			};
+			mix.put(endpoint, Integer.parseInt(kv[1]));
+		}
+		return mix;
+	}
+
+	private static long gcCount() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+	}
+
+	private static long gcTime() {
+		return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+	}
+
+	private static String report(Map<Endpoint, LatencyLog> logs, Duration duration, int concurrency, int users, int errors,
+								 PoolSampler pool, long gcCount, long gcTimeMs) {
+		StringBuilder out = new StringBuilder();
+		out.append(String.format("%nLoad test: %d users, %d clients, %ds%n", users, concurrency, duration.toSeconds()));
+		out.append(String.format("%-12s %10s %10s %10s %10s %10s%n", "endpoint", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+		for (Map.Entry<Endpoint, LatencyLog> entry : logs.entrySet()) {
+			long[] sorted = entry.getValue().sorted();
+			out.append(String.format("%-12s %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+					entry.getKey(),
+					sorted.length / (double) duration.toSeconds(),
+					percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+					sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+		}
+		out.append(String.format("errors: %d%n", errors));
+		out.append(String.format("connection pool: max active %d / %d, max threads waiting %d%n",
+				pool.maxActive, pool.maxTotal, pool.maxWaiting));
+		out.append(String.format("gc: %d collections, %d ms%n", gcCount, gcTimeMs));
+		return out.toString();
+	}
+
+	private static double percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+	}
+
+	/** Append-only list of latencies in nanoseconds, owned by one worker until merged. */
+	private static final class LatencyLog {
+		private long[] values = new long[1024];
+		private int size;
+
+		void add(long nanos) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = nanos;
+		}
+
+		void addAll(LatencyLog other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.values[i]);
+			}
+		}
+
+		int size() {
+			return size;
+		}
+
+		long[] sorted() {
+			long[] copy = Arrays.copyOf(values, size);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+	/** Samples Hikari every 50 ms and keeps the peaks. */
+	private static final class PoolSampler {
+		private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		private volatile int maxActive;
+		private volatile int maxTotal;
+		private volatile int maxWaiting;
+
+		PoolSampler(HikariPoolMXBean pool) {
+			scheduler.scheduleAtFixedRate(() -> {
+				maxActive = Math.max(maxActive, pool.getActiveConnections());
+				maxTotal = Math.max(maxTotal, pool.getTotalConnections());
+				maxWaiting = Math.max(maxWaiting, pool.getThreadsAwaitingConnection());
+			}, 0, 50, TimeUnit.MILLISECONDS);
+		}
+
+		void stop() throws InterruptedException {
+			scheduler.shutdown();
+			scheduler.awaitTermination(1, TimeUnit.SECONDS);
+		}
+	}
+}
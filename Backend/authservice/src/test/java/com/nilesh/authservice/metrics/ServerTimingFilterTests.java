@@ -0,0 +1,58 @@
+package com.nilesh.authservice.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ServerTimingFilterTests {
+
+	private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+	private static final String SAMPLED_PARENT = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+
+	private final TraceFileExporter exporter = mock(TraceFileExporter.class);
+	private final ServerTimingFilter filter = new ServerTimingFilter(exporter);
+
+	@Test
+	void sampledTraceparentDoesNotForceAnExportByDefault() throws Exception {
+		ReflectionTestUtils.setField(filter, "sampleRatio", 0.0);
+
+		filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+		verify(exporter, never()).export(any(), anyString(), anyString(), anyString(), anyInt());
+	}
+
+	@Test
+	void sampledTraceparentIsExportedWhenParentsAreHonored() throws Exception {
+		ReflectionTestUtils.setField(filter, "sampleRatio", 0.0);
+		ReflectionTestUtils.setField(filter, "honorParent", true);
+
+		filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+		verify(exporter).export(any(), eq(TRACE_ID), eq("00f067aa0ba902b7"), eq("GET /api/users/me"), eq(200));
+	}
+
+	@Test
+	void locallySampledRequestKeepsTheCallersTraceId() throws Exception {
+		ReflectionTestUtils.setField(filter, "sampleRatio", 1.0);
+
+		filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+		verify(exporter).export(any(), eq(TRACE_ID), eq("00f067aa0ba902b7"), anyString(), anyInt());
+	}
+
+	private static MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+		request.addHeader("traceparent", SAMPLED_PARENT);
+		return request;
+	}
+}
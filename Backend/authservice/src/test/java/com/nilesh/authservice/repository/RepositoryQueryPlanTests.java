@@ -0,0 +1,196 @@
+package com.nilesh.authservice.repository;
+
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.model.UserStatus;
+import com.nilesh.authservice.support.EmbeddedPostgresInitializer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls each repository method, captures the SQL and parameters it actually sends, and fails if
+ * EXPLAIN of that statement falls back to a sequential scan. Sequential scans are disabled for
+ * the transaction so the plans reflect a large table rather than an empty test schema.
+ */
+@SpringBootTest
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+@Import(RepositoryQueryPlanTests.CapturingDataSource.class)
+@Transactional
+class RepositoryQueryPlanTests {
+
+	private static final ThreadLocal<List<Captured>> CAPTURED = new ThreadLocal<>();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ActivityLogRepository activityLogRepository;
+
+	@Autowired
+	private TokenRepository tokenRepository;
+
+	@Autowired
+	private ServiceClientRepository serviceClientRepository;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user = userRepository.saveAndFlush(User.builder()
+				.email("plan-" + UUID.randomUUID() + "@example.com")
+				.role(Role.USER)
+				.provider(AuthProvider.GOOGLE)
+				.status(UserStatus.ACTIVE)
+				.build());
+		jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+	}
+
+	@Test
+	void findByEmail() {
+		assertNoSequentialScan(() -> userRepository.findByEmail("someone@example.com"));
+	}
+
+	@Test
+	void existsByEmail() {
+		assertNoSequentialScan(() -> userRepository.existsByEmail("someone@example.com"));
+	}
+
+	@Test
+	void findUserById() {
+		assertNoSequentialScan(() -> userRepository.findById(UUID.randomUUID().toString()));
+	}
+
+	@Test
+	void findUserPage() {
+		assertNoSequentialScan(() -> userRepository.findAllByOrderByIdAsc(PageRequest.of(3, 50)));
+	}
+
+	@Test
+	void userTableVersion() {
+		assertNoSequentialScan(() -> userRepository.currentVersion());
+	}
+
+	@Test
+	void findRecentlyLoggedIn() {
+		assertNoSequentialScan(() -> userRepository.findRecentlyLoggedIn(new Date(), 1000));
+	}
+
+	@Test
+	void findActivityByUser() {
+		assertNoSequentialScan(() -> activityLogRepository.findByUserOrderByTimestampDesc(user));
+	}
+
+	@Test
+	void activityLogTableVersion() {
+		assertNoSequentialScan(() -> activityLogRepository.currentVersion());
+	}
+
+	@Test
+	void countReapableTokens() {
+		assertNoSequentialScan(() -> tokenRepository.countReapable(new Date()));
+	}
+
+	@Test
+	void deleteReapableTokens() {
+		assertNoSequentialScan(() -> tokenRepository.deleteReapableChunk(new Date(), 1000));
+	}
+
+	@Test
+	void findServiceClient() {
+		assertNoSequentialScan(() -> serviceClientRepository.findByClientId("some-client"));
+	}
+
+	private void assertNoSequentialScan(Runnable repositoryCall) {
+		List<Captured> statements = new ArrayList<>();
+		CAPTURED.set(statements);
+		try {
+			repositoryCall.run();
+		} finally {
+			CAPTURED.remove();
+		}
+
+		assertThat(statements).as("statements issued by the repository call").isNotEmpty();
+		for (Captured statement : statements) {
+			List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), String.class, statement.args());
+			assertThat(plan)
+					.as("plan for: %s", statement.sql())
+					.noneMatch(line -> line.contains("Seq Scan"));
+		}
+	}
+
+	private record Captured(String sql, Object[] args) {
+	}
+
+	/** Records the statements the repository sends while {@link #CAPTURED} is set on the calling thread. */
+	@TestConfiguration(proxyBeanMethods = false)
+	static class CapturingDataSource {
+
+		@Bean
+		static BeanPostProcessor capturingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+						return ProxyDataSourceBuilder.create(dataSource)
+								.name(beanName)
+								.listener(new Listener())
+								.build();
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
+	private static final class Listener implements QueryExecutionListener {
+
+		@Override
+		public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			List<Captured> statements = CAPTURED.get();
+			if (statements == null) {
+				return;
+			}
+			for (QueryInfo query : queryInfoList) {
+				List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+						? List.of() : query.getParametersList().get(0);
+				Object[] args = new Object[parameters.size()];
+				for (ParameterSetOperation parameter : parameters) {
+					args[(Integer) parameter.getArgs()[0] - 1] = parameter.getArgs()[1];
+				}
+				statements.add(new Captured(query.getQuery(), args));
+			}
+		}
+
+		@Override
+		public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		}
+	}
+}
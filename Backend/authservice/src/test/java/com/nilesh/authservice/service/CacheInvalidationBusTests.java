@@ -0,0 +1,132 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.support.EmbeddedPostgresInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Other nodes are simulated by writing to cache_invalidations directly, the way their
+ * {@link CacheInvalidationBus} would.
+ */
+@SpringBootTest(properties = "cache.invalidation.reconnect-min-ms=100")
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+@Import(CacheInvalidationBusTests.Recorder.class)
+class CacheInvalidationBusTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private Recorder recorder;
+
+	@Test
+	void notificationFromAnotherNodeIsApplied() throws InterruptedException {
+		awaitListening();
+		String key = UUID.randomUUID().toString();
+
+		notifyUser(key);
+
+		assertThat(recorder.await(key)).isEqualTo(new CacheInvalidationBus.Invalidation(CacheInvalidationBus.Kind.USER, key));
+	}
+
+	@Test
+	void invalidationMissedWhileDisconnectedIsReplayed() throws InterruptedException {
+		awaitListening();
+
+		// Written without NOTIFY, so only the catch-up query after the reconnect can find it
+		String missed = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO cache_invalidations (kind, cache_key) VALUES ('CLIENT', ?)", missed);
+		jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+				CacheInvalidationBus.LISTENER_APPLICATION_NAME);
+
+		assertThat(recorder.await(missed)).isEqualTo(new CacheInvalidationBus.Invalidation(CacheInvalidationBus.Kind.CLIENT, missed));
+	}
+
+	@Test
+	void rowCommittedAfterAHigherIdIsReplayedOnce() throws Exception {
+		awaitListening();
+		String late = UUID.randomUUID().toString();
+		String seen = UUID.randomUUID().toString();
+
+		// The late row takes its id first but commits only after a higher id has been delivered
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try (PreparedStatement ps = connection.prepareStatement(
+					"INSERT INTO cache_invalidations (kind, cache_key) VALUES ('USER', ?)")) {
+				ps.setString(1, late);
+				ps.executeUpdate();
+			}
+			notifyUser(seen);
+			assertThat(recorder.await(seen)).isNotNull();
+			connection.commit();
+		}
+		jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+				CacheInvalidationBus.LISTENER_APPLICATION_NAME);
+
+		assertThat(recorder.await(late)).isEqualTo(new CacheInvalidationBus.Invalidation(CacheInvalidationBus.Kind.USER, late));
+		assertThat(recorder.await(seen, 1000)).as("already applied, not replayed").isNull();
+	}
+
+	private void notifyUser(String key) {
+		jdbcTemplate.queryForList("WITH e AS (INSERT INTO cache_invalidations (kind, cache_key) VALUES ('USER', ?)"
+				+ " RETURNING id, kind, cache_key)"
+				+ " SELECT pg_notify('cache_invalidation', e.id || ' ' || e.kind || ' ' || e.cache_key) FROM e", key);
+	}
+
+	/** The listener connects after startup; probe until a notification comes back. */
+	private void awaitListening() throws InterruptedException {
+		for (int attempt = 0; attempt < 50; attempt++) {
+			String probe = UUID.randomUUID().toString();
+			jdbcTemplate.queryForList("SELECT pg_notify('cache_invalidation', '0 USER ' || ?)", probe);
+			if (recorder.await(probe, 200) != null) {
+				return;
+			}
+		}
+		throw new AssertionError("cache invalidation listener did not connect");
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class Recorder {
+
+		private final BlockingQueue<CacheInvalidationBus.Invalidation> received = new LinkedBlockingQueue<>();
+
+		@EventListener
+		void onInvalidation(CacheInvalidationBus.Invalidation invalidation) {
+			received.add(invalidation);
+		}
+
+		CacheInvalidationBus.Invalidation await(String key) throws InterruptedException {
+			return await(key, 10_000);
+		}
+
+		CacheInvalidationBus.Invalidation await(String key, long timeoutMs) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+			for (long left = deadline - System.nanoTime(); left > 0; left = deadline - System.nanoTime()) {
+				CacheInvalidationBus.Invalidation invalidation = received.poll(left, TimeUnit.NANOSECONDS);
+				if (invalidation != null && key.equals(invalidation.key())) {
+					return invalidation;
+				}
+			}
+			return null;
+		}
+	}
+}
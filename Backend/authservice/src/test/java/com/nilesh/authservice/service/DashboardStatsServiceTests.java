@@ -0,0 +1,77 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.dto.DashboardStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login counting only; the user counters are covered through the admin endpoints.
+ */
+class DashboardStatsServiceTests {
+
+	private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+	private static final int THREADS = 8;
+	private static final int LOGINS_PER_THREAD = 500;
+	private static final int ROUNDS = 50;
+
+	@Test
+	void loginsRacingAnHourRolloverAreAllCounted() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			long now = System.currentTimeMillis();
+			long hourStart = now / HOUR_MS * HOUR_MS;
+			DashboardStatsService stats = new DashboardStatsService(null);
+			// The slot still holds the same hour from the previous day, so the first login of this hour resets it
+			stats.loginRecorded(now - DashboardStatsService.LOGIN_BUCKETS * HOUR_MS);
+
+			CountDownLatch start = new CountDownLatch(1);
+			List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				Thread thread = new Thread(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					for (int i = 0; i < LOGINS_PER_THREAD; i++) {
+						stats.loginRecorded(now);
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			start.countDown();
+			for (Thread thread : threads) {
+				thread.join(TimeUnit.SECONDS.toMillis(30));
+			}
+
+			assertThat(loginsAt(stats.snapshot(), hourStart)).as("round %d", round)
+					.isEqualTo((long) THREADS * LOGINS_PER_THREAD);
+		}
+	}
+
+	@Test
+	void loginsOlderThanTheSlotsHourAreDropped() {
+		long now = System.currentTimeMillis();
+		DashboardStatsService stats = new DashboardStatsService(null);
+
+		stats.loginRecorded(now);
+		stats.loginRecorded(now - DashboardStatsService.LOGIN_BUCKETS * HOUR_MS);
+
+		assertThat(loginsAt(stats.snapshot(), now / HOUR_MS * HOUR_MS)).isEqualTo(1);
+	}
+
+	private static long loginsAt(DashboardStatsDto snapshot, long hourStart) {
+		return snapshot.getLoginsPerHour().stream()
+				.filter(bucket -> bucket.getStart().getTime() == hourStart)
+				.mapToLong(DashboardStatsDto.LoginBucket::getCount)
+				.findFirst()
+				.orElse(0);
+	}
+}
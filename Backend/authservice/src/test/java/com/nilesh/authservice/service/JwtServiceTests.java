@@ -0,0 +1,116 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that tokens from the specialised HS256 codec and from jjwt are interchangeable,
+ * and that rejected tokens still fail with jjwt's exceptions.
+ */
+class JwtServiceTests {
+
+	private static final String SECRET = "lk9CaAFyBKmSvPZT7JlC7gcn4C44RIFkQhgsDU+rATk=";
+
+	private JwtService jwtService;
+
+	@BeforeEach
+	void setUp() {
+		jwtService = new JwtService(PermissionRegistryTests.registry());
+		ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900_000L);
+	}
+
+	@Test
+	void issuedTokensAreReadableByJjwt() {
+		String token = jwtService.generateToken(user("codec@example.com"));
+
+		Claims claims = Jwts.parserBuilder()
+				.setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+
+		assertThat(claims.getSubject()).isEqualTo("codec@example.com");
+		assertThat(claims.get("role")).isEqualTo("ADMIN");
+		assertThat(claims.get("provider")).isEqualTo("GOOGLE");
+		assertThat(claims.getExpiration()).isAfter(new Date());
+	}
+
+	@Test
+	void jjwtTokensAreAccepted() {
+		String standard = jwtService.generateToken(Map.of("role", "USER", "provider", "EMAIL"), "jjwt@example.com");
+		String extraClaims = jwtService.generateToken(Map.of("scope", "admin"), "other@example.com");
+
+		assertThat(jwtService.extractUsername(standard)).isEqualTo("jjwt@example.com");
+		assertThat(jwtService.extractUsername(extraClaims)).isEqualTo("other@example.com");
+	}
+
+	@Test
+	void subjectsNeedingEscapesRoundTrip() {
+		String token = jwtService.generateToken(user("quo\"te\\d@exämple.com"));
+
+		assertThat(jwtService.extractUsername(token)).isEqualTo("quo\"te\\d@exämple.com");
+	}
+
+	@Test
+	void tamperedSignatureIsRejected() {
+		String token = jwtService.generateToken(user("codec@example.com"));
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BA" : "AA");
+
+		assertThatThrownBy(() -> jwtService.extractUsername(tampered)).isInstanceOf(SignatureException.class);
+	}
+
+	@Test
+	void expiredTokenIsRejected() {
+		ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", -60_000L);
+		String token = jwtService.generateToken(user("codec@example.com"));
+
+		assertThatThrownBy(() -> jwtService.extractUsername(token)).isInstanceOf(ExpiredJwtException.class);
+	}
+
+	@Test
+	void permissionsTravelInTheToken() {
+		String token = jwtService.generateToken(user("codec@example.com"));
+
+		JwtService.AccessToken accessToken = jwtService.parseAccessToken(token);
+
+		assertThat(accessToken.subject()).isEqualTo("codec@example.com");
+		assertThat(accessToken.role()).isEqualTo("ADMIN");
+		assertThat(accessToken.permissions()).containsExactly(PermissionRegistryTests.registry().forRole(Role.ADMIN));
+	}
+
+	@Test
+	void jjwtTokensCarryPermissionsToo() {
+		String withPerms = jwtService.generateToken(
+				Map.of("role", "USER", "perms", PermissionRegistry.encode(new long[]{0b101})), "jjwt@example.com");
+		String withoutPerms = jwtService.generateToken(Map.of("role", "USER"), "old@example.com");
+
+		assertThat(jwtService.parseAccessToken(withPerms).permissions()).containsExactly(0b101L);
+		assertThat(jwtService.parseAccessToken(withoutPerms).permissions()).isNull();
+		assertThat(jwtService.parseAccessToken(withoutPerms).role()).isEqualTo("USER");
+	}
+
+	private static User user(String email) {
+		return User.builder()
+				.email(email)
+				.role(Role.ADMIN)
+				.provider(AuthProvider.GOOGLE)
+				.build();
+	}
+}
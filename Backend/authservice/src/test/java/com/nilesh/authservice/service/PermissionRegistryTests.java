@@ -0,0 +1,81 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.config.PermissionProperties;
+import com.nilesh.authservice.model.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PermissionRegistryTests {
+
+	static PermissionRegistry registry() {
+		PermissionProperties properties = new PermissionProperties();
+		properties.setNames(List.of("profile.read", "profile.write", "activity.read", "users.read", "users.write",
+				"users.import", "logs.read", "stats.read", "metrics.read", "clients.manage"));
+		properties.setRoles(Map.of(
+				"USER", List.of("profile.read", "profile.write", "activity.read"),
+				"ADMIN", List.of("*")));
+		return new PermissionRegistry(properties);
+	}
+
+	@Test
+	void rolesGetTheirConfiguredBits() {
+		PermissionRegistry registry = registry();
+		long[] user = registry.forRole(Role.USER);
+		long[] admin = registry.forRole(Role.ADMIN);
+
+		assertThat(PermissionRegistry.has(user, registry.index("profile.read"))).isTrue();
+		assertThat(PermissionRegistry.has(user, registry.index("users.read"))).isFalse();
+		assertThat(PermissionRegistry.has(admin, registry.index("metrics.read"))).isTrue();
+		assertThat(PermissionRegistry.has(admin, 200)).isFalse();
+	}
+
+	@Test
+	void claimRoundTripsBeyondOneWord() {
+		long[] bits = {1L | 1L << 63, 0, 1L << 5};
+
+		String claim = PermissionRegistry.encode(bits);
+
+		assertThat(PermissionRegistry.decode(claim)).containsExactly(bits);
+		assertThat(PermissionRegistry.encode(new long[2])).isEmpty();
+	}
+
+	@Test
+	void tokenBitsAreDroppedAfterARoleChange() {
+		PermissionRegistry registry = registry();
+		long[] adminBits = registry.forRole(Role.ADMIN);
+
+		assertThat(registry.effective(adminBits, "ADMIN", Role.ADMIN)).isSameAs(adminBits);
+		assertThat(registry.effective(adminBits, "ADMIN", Role.USER)).isSameAs(registry.forRole(Role.USER));
+		assertThat(registry.effective(null, "USER", Role.USER)).isSameAs(registry.forRole(Role.USER));
+	}
+
+	@Test
+	void tokenBitsCannotExceedTheCurrentRole() {
+		PermissionRegistry registry = registry();
+		long[] userBits = registry.forRole(Role.USER);
+		// Signed while USER still had users.write in configuration
+		long[] stale = registry.bitsOf(List.of("profile.read", "users.write"));
+
+		long[] effective = registry.effective(stale, "USER", Role.USER);
+
+		assertThat(PermissionRegistry.has(effective, registry.index("profile.read"))).isTrue();
+		assertThat(PermissionRegistry.has(effective, registry.index("users.write"))).isFalse();
+		assertThat(registry.effective(userBits, "USER", Role.USER)).isSameAs(userBits);
+	}
+
+	@Test
+	void unknownPermissionsFailAtStartup() {
+		PermissionProperties properties = new PermissionProperties();
+		properties.setNames(new ArrayList<>(List.of("profile.read")));
+		properties.setRoles(Map.of("USER", List.of("profile.write")));
+
+		assertThatThrownBy(() -> new PermissionRegistry(properties)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> registry().index("nope")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
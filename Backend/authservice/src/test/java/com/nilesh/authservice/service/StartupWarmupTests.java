@@ -0,0 +1,111 @@
+package com.nilesh.authservice.service;
+
+import com.nilesh.authservice.AuthserviceApplication;
+import com.nilesh.authservice.support.EmbeddedPostgresInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the whole application on a background thread with a password encoder that holds warm-up
+ * at its last step, and reads the readiness state while the warm-up runner is waiting on it.
+ */
+class StartupWarmupTests {
+
+	private static volatile CountDownLatch warmUpBlocked;
+	private static volatile CountDownLatch releaseWarmUp;
+
+	private final AtomicReference<ConfigurableApplicationContext> context = new AtomicReference<>();
+	private CompletableFuture<ConfigurableApplicationContext> startup;
+
+	@AfterEach
+	void stop() throws Exception {
+		releaseWarmUp.countDown();
+		startup.get(60, TimeUnit.SECONDS).close();
+	}
+
+	@Test
+	void readinessWaitsForWarmUpToFinish() throws Exception {
+		start(60_000);
+
+		assertThat(warmUpBlocked.await(60, TimeUnit.SECONDS)).as("warm-up reached the password step").isTrue();
+		Thread.sleep(500);
+		assertThat(readiness()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+		assertThat(startup).isNotDone();
+
+		releaseWarmUp.countDown();
+		startup.get(30, TimeUnit.SECONDS);
+		assertThat(readiness()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+	}
+
+	@Test
+	void readinessFollowsTheTimeoutWhenWarmUpHangs() throws Exception {
+		start(2_000);
+
+		assertThat(warmUpBlocked.await(60, TimeUnit.SECONDS)).as("warm-up reached the password step").isTrue();
+		assertThat(readiness()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+
+		// Never released: the runner gives up after warmup.timeout-ms and the node reports ready anyway
+		startup.get(30, TimeUnit.SECONDS);
+		assertThat(readiness()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+	}
+
+	private void start(long timeoutMs) {
+		warmUpBlocked = new CountDownLatch(1);
+		releaseWarmUp = new CountDownLatch(1);
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(AuthserviceApplication.class, BlockingEncoder.class)
+				.initializers(new EmbeddedPostgresInitializer())
+				.listeners((ApplicationListener<ApplicationPreparedEvent>) event -> context.set(event.getApplicationContext()));
+		// Arguments rather than default properties, so they win over the build's warmup.enabled=false
+		startup = CompletableFuture.supplyAsync(() -> builder.run(
+				"--server.port=0",
+				"--cache.invalidation.enabled=false",
+				"--warmup.enabled=true",
+				"--warmup.timeout-ms=" + timeoutMs,
+				"--warmup.token-iterations=10",
+				"--warmup.password-iterations=1"));
+	}
+
+	private ReadinessState readiness() {
+		return context.get().getBean(ApplicationAvailability.class).getReadinessState();
+	}
+
+	/** Blocks the warm-up's {@code encode} call until the test releases it. */
+	@TestConfiguration(proxyBeanMethods = false)
+	static class BlockingEncoder {
+
+		@Bean
+		@Primary
+		PasswordEncoder blockingPasswordEncoder() {
+			return new BCryptPasswordEncoder(4) {
+				@Override
+				public String encode(CharSequence rawPassword) {
+					warmUpBlocked.countDown();
+					try {
+						releaseWarmUp.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return super.encode(rawPassword);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.nilesh.authservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.repository.UserRepository;
+import com.nilesh.authservice.support.EmbeddedPostgresInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+class UserImportServiceTests {
+
+	@Autowired
+	private UserImportService userImportService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final String prefix = "import-" + UUID.randomUUID();
+
+	@Test
+	void quotedFieldsMayContainCommasAndQuotes() throws Exception {
+		String email = prefix + "-quoted@example.com";
+
+		List<JsonNode> results = importCsv("email,password,role\n"
+				+ email + ",\"p,a\"\"ss\",admin\n");
+
+		assertThat(results).extracting(result -> result.get("status").asText()).containsExactly("CREATED");
+		User user = userRepository.findByEmail(email).orElseThrow();
+		assertThat(passwordEncoder.matches("p,a\"ss", user.getPassword())).isTrue();
+		assertThat(user.getRole().name()).isEqualTo("ADMIN");
+	}
+
+	@Test
+	void rowsWithTheWrongFieldCountAreRejected() throws Exception {
+		String email = prefix + "-unquoted@example.com";
+
+		List<JsonNode> results = importCsv("email,password,role\n"
+				+ email + ",pa,ss,USER\n"
+				+ prefix + "-open@example.com,\"unterminated,USER\n");
+
+		assertThat(results).extracting(result -> result.get("status").asText()).containsExactly("ERROR", "ERROR");
+		assertThat(results.get(0).get("message").asText()).contains("Expected 3 fields but found 4");
+		assertThat(results.get(1).get("message").asText()).contains("Unterminated quoted field");
+		assertThat(userRepository.existsByEmail(email)).isFalse();
+	}
+
+	@Test
+	void emailsAreDeduplicatedCaseInsensitively() throws Exception {
+		String email = prefix + "-dup@example.com";
+
+		List<JsonNode> results = importCsv("email,password\n"
+				+ email + ",Secret#123\n"
+				+ email.toUpperCase() + ",Secret#123\n");
+		List<JsonNode> again = importCsv("email,password\n"
+				+ " " + email.toUpperCase() + " ,Secret#123\n");
+
+		assertThat(results).extracting(result -> result.get("status").asText()).containsExactly("CREATED", "SKIPPED");
+		assertThat(again).extracting(result -> result.get("status").asText()).containsExactly("SKIPPED");
+		assertThat(userRepository.findByEmail(email)).isPresent();
+	}
+
+	private List<JsonNode> importCsv(String csv) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		userImportService.importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), false, out);
+		List<JsonNode> results = new ArrayList<>();
+		for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+			results.add(objectMapper.readTree(line));
+		}
+		return results;
+	}
+}
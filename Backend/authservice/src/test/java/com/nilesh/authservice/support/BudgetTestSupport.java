@@ -0,0 +1,63 @@
+package com.nilesh.authservice.support;
+
+import com.nilesh.authservice.model.AuthProvider;
+import com.nilesh.authservice.model.Role;
+import com.nilesh.authservice.model.User;
+import com.nilesh.authservice.model.UserStatus;
+import com.nilesh.authservice.repository.UserRepository;
+import com.nilesh.authservice.service.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Base class for the controller budget tests: the full application on the embedded Postgres,
+ * MockMvc, statement counting through {@link RequestBudget}, and helpers to create users and
+ * sign tokens for them. Subclasses share one cached application context.
+ * <p>
+ * Allocation budgets are set to about 1.25x the bytes measured on JDK 21 when they were last
+ * changed, so a real regression trips them; re-measure and adjust when one fails for a change
+ * that legitimately allocates more.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+@Import(RequestBudget.class)
+public abstract class BudgetTestSupport {
+
+	protected static final long KB = 1024;
+
+	@Autowired
+	protected MockMvc mockMvc;
+
+	@Autowired
+	protected UserRepository userRepository;
+
+	@Autowired
+	protected PasswordEncoder passwordEncoder;
+
+	@Autowired
+	protected JwtService jwtService;
+
+	protected static User user(String email, String passwordHash, Role role) {
+		return User.builder()
+				.email(email)
+				.password(passwordHash)
+				.role(role)
+				.provider(AuthProvider.EMAIL)
+				.status(UserStatus.ACTIVE)
+				.build();
+	}
+
+	protected User saveUser(String email, String passwordHash, Role role) {
+		return userRepository.save(user(email, passwordHash, role));
+	}
+
+	protected String bearer(User user) {
+		return "Bearer " + jwtService.generateToken(user);
+	}
+}
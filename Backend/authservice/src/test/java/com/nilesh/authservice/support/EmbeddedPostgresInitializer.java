@@ -0,0 +1,47 @@
+package com.nilesh.authservice.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Points the application at an embedded Postgres started once per test JVM,
+ * so tests run without a database server. Flyway creates the schema as usual.
+ * Use with {@code @ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)}.
+ */
+public class EmbeddedPostgresInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+	private static EmbeddedPostgres postgres;
+
+	@Override
+	public void initialize(ConfigurableApplicationContext context) {
+		EmbeddedPostgres db = start();
+		TestPropertyValues.of(
+				"spring.datasource.url=" + db.getJdbcUrl("postgres", "postgres"),
+				"spring.datasource.username=postgres",
+				"spring.datasource.password="
+		).applyTo(context.getEnvironment());
+	}
+
+	private static synchronized EmbeddedPostgres start() {
+		if (postgres == null) {
+			try {
+				postgres = EmbeddedPostgres.builder().start();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not start embedded Postgres", e);
+			}
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					postgres.close();
+				} catch (IOException ignored) {
+					// the process is exiting anyway
+				}
+			}));
+		}
+		return postgres;
+	}
+}
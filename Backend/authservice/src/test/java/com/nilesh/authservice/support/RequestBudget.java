@@ -0,0 +1,66 @@
+package com.nilesh.authservice.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures how many SQL statements and how many heap bytes one request costs on the calling
+ * thread. Import this configuration into a test context to route the DataSource through
+ * {@link StatementCounter}; MockMvc requests run on the test thread, so both numbers cover
+ * the filter chain, controller and serialization of exactly that request.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class RequestBudget {
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	public record Cost(int statements, long allocatedBytes) {
+	}
+
+	@FunctionalInterface
+	public interface Request {
+		void perform() throws Exception;
+	}
+
+	@Bean
+	static BeanPostProcessor statementCountingDataSource() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+					return ProxyDataSourceBuilder.create(dataSource)
+							.name(beanName)
+							.listener(new StatementCounter())
+							.build();
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Runs the request once to warm up class loading and caches, then again while measuring.
+	 * The request must be repeatable, so requests that create data should vary it per call.
+	 */
+	public static Cost measure(Request request) throws Exception {
+		request.perform();
+		long allocated;
+		int statements;
+		StatementCounter.start();
+		long before = THREADS.getCurrentThreadAllocatedBytes();
+		try {
+			request.perform();
+		} finally {
+			allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+			statements = StatementCounter.stop();
+		}
+		return new Cost(statements, allocated);
+	}
+}
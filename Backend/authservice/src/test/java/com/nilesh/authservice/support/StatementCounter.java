@@ -0,0 +1,39 @@
+package com.nilesh.authservice.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts JDBC statement executions on the current thread while counting is started.
+ * A JDBC batch counts as one execution, like a single round trip to the database.
+ * Work done on other threads (scheduled jobs, the async activity-log writer) is not counted.
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+	private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+	static void start() {
+		COUNT.set(new int[1]);
+	}
+
+	static int stop() {
+		int[] count = COUNT.get();
+		COUNT.remove();
+		return count == null ? 0 : count[0];
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		int[] count = COUNT.get();
+		if (count != null) {
+			count[0]++;
+		}
+	}
+}
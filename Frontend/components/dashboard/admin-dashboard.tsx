@@ -1,12 +1,14 @@
 "use client"
 
-import { useState, useEffect } from "react"
+import { useState, useEffect, useCallback } from "react"
 import { useRouter } from "next/navigation"
 import { format } from "date-fns"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card"
 import { Button } from "@/components/ui/button"
 import { Badge } from "@/components/ui/badge"
 import { Avatar, AvatarFallback, AvatarImage } from "@/components/ui/avatar"
+import { avatarSrc } from "@/lib/utils"
+import { subscribeEvents } from "@/lib/sse"
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select"
 import { Dialog, DialogContent, DialogDescription, DialogHeader, DialogTitle } from "@/components/ui/dialog"
 import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from "@/components/ui/table"
@@ -23,6 +25,14 @@ interface User {
   avatar: string | null
 }
 
+interface DashboardStats {
+  totalUsers: number
+  usersByRole: Record<string, number>
+  usersByStatus: Record<string, number>
+  usersByProvider: Record<string, number>
+  loginsPerHour: { start: string; count: number }[]
+}
+
 interface ActivityLog {
   id: string;
   action: string;
@@ -34,18 +44,34 @@ interface ActivityLog {
   };
 }
 
+interface ActivityEvent {
+  id: number
+  userEmail: string | null
+  action: string
+  ipAddress: string
+  details: string
+  timestamp: string
+}
+
+const PAGE_SIZE = 50
+
 export function AdminDashboard() {
   const [users, setUsers] = useState<User[]>([])
   const [logs, setLogs] = useState<ActivityLog[]>([])
+  const [dashboardStats, setDashboardStats] = useState<DashboardStats | null>(null)
   const [isLoading, setIsLoading] = useState(true)
+  const [page, setPage] = useState(0)
+  const [isLoadingUsers, setIsLoadingUsers] = useState(false)
   const [error, setError] = useState<string | null>(null)
   const [selectedUser, setSelectedUser] = useState<User | null>(null)
   const [showLogs, setShowLogs] = useState(false)
   const { toast } = useToast()
   const router = useRouter()
 
+  // Counts come from /stats; the table loads one page of users at a time, so opening the
+  // dashboard never pulls the whole user list.
   useEffect(() => {
-    const fetchUsers = async () => {
+    const fetchStats = async () => {
       const token = localStorage.getItem("token")
       if (!token) {
         router.push("/")
@@ -53,21 +79,20 @@ export function AdminDashboard() {
       }
 
       try {
-        const res = await fetch("http://localhost:8080/api/admin/users", {
+        const statsRes = await fetch("http://localhost:8080/api/admin/stats", {
           headers: {
             "Authorization": `Bearer ${token}`
           }
         })
 
-        if (!res.ok) {
-          if (res.status === 403) {
+        if (!statsRes.ok) {
+          if (statsRes.status === 403) {
              throw new Error("Access Denied: You do not have permission to view this page.")
           }
-          throw new Error("Failed to fetch user data")
+          throw new Error("Failed to fetch dashboard data")
         }
 
-        const data: User[] = await res.json()
-        setUsers(data)
+        setDashboardStats(await statsRes.json())
       } catch (err: any) {
         setError(err.message)
         toast({
@@ -80,15 +105,38 @@ export function AdminDashboard() {
       }
     }
 
-    fetchUsers()
+    fetchStats()
   }, [router, toast])
 
-  const handleViewLogs = async () => {
+  useEffect(() => {
+    const fetchUsers = async () => {
+      const token = localStorage.getItem("token")
+      if (!token) return
+
+      setIsLoadingUsers(true)
+      try {
+        const res = await fetch(`http://localhost:8080/api/admin/users?page=${page}&size=${PAGE_SIZE}`, {
+          headers: {
+            "Authorization": `Bearer ${token}`
+          }
+        })
+        if (!res.ok) throw new Error("Failed to fetch user data")
+        const data: User[] = await res.json()
+        setUsers(data)
+      } catch (err: any) {
+        toast({ title: "Error", description: err.message, variant: "destructive" })
+      } finally {
+        setIsLoadingUsers(false)
+      }
+    }
+
+    fetchUsers()
+  }, [page, toast])
+
+  const fetchLogs = useCallback(async () => {
     const token = localStorage.getItem("token");
     if (!token) return;
 
-    setShowLogs(true);
-
     try {
         const res = await fetch("http://localhost:8080/api/admin/logs", {
             headers: { "Authorization": `Bearer ${token}` }
@@ -99,7 +147,33 @@ export function AdminDashboard() {
     } catch (err: any) {
         toast({ title: "Error", description: err.message, variant: "destructive" });
     }
-  };
+  }, [toast]);
+
+  // While the dialog is open, new entries arrive over SSE instead of re-fetching the list.
+  useEffect(() => {
+    const token = localStorage.getItem("token");
+    if (!showLogs || !token) return;
+
+    fetchLogs();
+    return subscribeEvents("http://localhost:8080/api/admin/logs/stream", token, (message) => {
+      // "dropped": the server no longer holds what we missed; "reset": it doesn't know our last id
+      if (message.event === "dropped" || message.event === "reset") {
+        fetchLogs();
+      } else if (message.event === "activity") {
+        const event: ActivityEvent = JSON.parse(message.data);
+        setLogs(current => [{
+          id: `feed-${event.id}`,
+          action: event.action,
+          ipAddress: event.ipAddress,
+          details: event.details,
+          timestamp: event.timestamp,
+          user: { email: event.userEmail ?? "" },
+        }, ...current]);
+      }
+    });
+  }, [showLogs, fetchLogs]);
+
+  const handleViewLogs = () => setShowLogs(true);
 
   const handleSuspendUser = async (userToUpdate: User) => {
     const token = localStorage.getItem("token");
@@ -123,6 +197,14 @@ export function AdminDashboard() {
       }
       const updatedUser: User = await res.json();
       setUsers(users.map(user => (user.id === updatedUser.id ? updatedUser : user)));
+      setDashboardStats(current => current && {
+        ...current,
+        usersByStatus: {
+          ...current.usersByStatus,
+          [userToUpdate.status]: (current.usersByStatus[userToUpdate.status] ?? 1) - 1,
+          [newStatus]: (current.usersByStatus[newStatus] ?? 0) + 1,
+        },
+      });
       toast({
         title: "Status Updated!",
         description: `User ${updatedUser.email} is now ${newStatus.toLowerCase()}.`,
@@ -147,11 +229,12 @@ export function AdminDashboard() {
   }
 
   const stats = {
-    totalUsers: users.length,
-    activeUsers: users.filter((u) => u.status === "ACTIVE").length,
-    adminUsers: users.filter((u) => u.role === "ADMIN").length,
-    suspendedUsers: users.filter((u) => u.status === "SUSPENDED").length,
+    totalUsers: dashboardStats?.totalUsers ?? 0,
+    activeUsers: dashboardStats?.usersByStatus.ACTIVE ?? 0,
+    adminUsers: dashboardStats?.usersByRole.ADMIN ?? 0,
+    suspendedUsers: dashboardStats?.usersByStatus.SUSPENDED ?? 0,
   }
+  const pageCount = Math.max(1, Math.ceil(stats.totalUsers / PAGE_SIZE))
 
   if (isLoading) {
     return (
@@ -250,7 +333,7 @@ export function AdminDashboard() {
                     <TableCell className="font-medium">
                       <div className="flex items-center space-x-3">
                         <Avatar className="h-8 w-8">
-                          <AvatarImage src={user.avatar || "/placeholder-user.jpg"} alt={user.email} />
+                          <AvatarImage src={avatarSrc(user.avatar, "/placeholder-user.jpg")} alt={user.email} />
                           <AvatarFallback>{user.email.charAt(0).toUpperCase()}</AvatarFallback>
                         </Avatar>
                         <span>{user.email}</span>
@@ -297,6 +380,22 @@ export function AdminDashboard() {
               </TableBody>
             </Table>
           </div>
+          <div className="flex items-center justify-between pt-4">
+            <p className="text-sm text-muted-foreground">
+              Page {page + 1} of {pageCount}
+              {isLoadingUsers && <Loader2 className="ml-2 inline h-4 w-4 animate-spin" />}
+            </p>
+            <div className="space-x-2">
+              <Button variant="outline" size="sm" disabled={page === 0 || isLoadingUsers}
+                      onClick={() => setPage(page - 1)}>
+                Previous
+              </Button>
+              <Button variant="outline" size="sm" disabled={users.length < PAGE_SIZE || isLoadingUsers}
+                      onClick={() => setPage(page + 1)}>
+                Next
+              </Button>
+            </div>
+          </div>
         </CardContent>
       </Card>
       
@@ -310,7 +409,7 @@ export function AdminDashboard() {
             <div className="space-y-4">
               <div className="flex items-center space-x-4">
                 <Avatar className="h-16 w-16">
-                  <AvatarImage src={selectedUser.avatar || "/placeholder-user.jpg"} alt={selectedUser.email} />
+                  <AvatarImage src={avatarSrc(selectedUser.avatar, "/placeholder-user.jpg")} alt={selectedUser.email} />
                   <AvatarFallback className="text-lg">{selectedUser.email.charAt(0).toUpperCase()}</AvatarFallback>
                 </Avatar>
                 <div>
@@ -5,6 +5,7 @@ import { useRouter } from "next/navigation"
 import { format, formatDistanceToNow } from "date-fns"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card"
 import { Avatar, AvatarFallback, AvatarImage } from "@/components/ui/avatar"
+import { avatarSrc } from "@/lib/utils"
 import { Badge } from "@/components/ui/badge"
 import { Button } from "@/components/ui/button"
 import { User, Mail, Shield, Calendar, Edit, Loader2, AlertTriangle } from "lucide-react"
@@ -109,6 +110,32 @@ export function UserDashboard() {
     }
   };
 
+  const handleUploadAvatar = async (file: File | undefined) => {
+    const token = localStorage.getItem("token");
+    if (!token || !file) return;
+
+    try {
+        const res = await fetch(`http://localhost:8080/api/users/me/avatar`, {
+            method: 'PUT',
+            headers: {
+                'Authorization': `Bearer ${token}`,
+                'Content-Type': file.type,
+            },
+            body: file,
+        });
+
+        if (!res.ok) throw new Error((await res.text()) || 'Failed to upload avatar.');
+
+        const updatedUser: UserData = await res.json();
+        setUser(updatedUser);
+        setNewAvatarUrl(updatedUser.avatar || "");
+        setIsEditModalOpen(false);
+        toast({ title: "Success", description: "Your avatar has been updated." });
+    } catch (error: any) {
+        toast({ title: "Error", description: error.message, variant: "destructive" });
+    }
+  };
+
   const handleChangePassword = async () => {
     const token = localStorage.getItem("token");
     if (!token) return;
@@ -187,7 +214,7 @@ export function UserDashboard() {
             <CardContent className="space-y-4">
                 <div className="flex items-center space-x-4">
                 <Avatar className="h-16 w-16">
-                    <AvatarImage src={user.avatar || "/placeholder-user.jpg"} alt="Profile" />
+                    <AvatarImage src={avatarSrc(user.avatar, "/placeholder-user.jpg")} alt="Profile" />
                     <AvatarFallback className="bg-gradient-to-br from-purple-500 to-blue-500 text-white text-lg">
                     {user.email.charAt(0).toUpperCase()}
                     </AvatarFallback>
@@ -326,6 +353,16 @@ export function UserDashboard() {
                 className="col-span-3"
               />
             </div>
+            <div className="grid grid-cols-4 items-center gap-4">
+              <Label htmlFor="avatarFile" className="text-right">Upload</Label>
+              <Input
+                id="avatarFile"
+                type="file"
+                accept="image/png,image/jpeg,image/gif,image/webp"
+                onChange={(e) => handleUploadAvatar(e.target.files?.[0])}
+                className="col-span-3"
+              />
+            </div>
           </div>
           <DialogFooter>
             <Button type="submit" onClick={handleUpdateAvatar}>Save changes</Button>
@@ -0,0 +1,64 @@
+// Server-Sent Events over fetch. The browser's EventSource can't send an Authorization
+// header and the API only accepts bearer tokens, so this reads the stream itself and
+// reconnects with Last-Event-ID the way EventSource would.
+
+export interface SseMessage {
+  id?: string
+  event: string
+  data: string
+}
+
+const RECONNECT_MS = 3000
+
+export function subscribeEvents(url: string, token: string, onMessage: (message: SseMessage) => void): () => void {
+  const controller = new AbortController()
+  let lastEventId: string | undefined
+
+  const run = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const headers: Record<string, string> = { "Authorization": `Bearer ${token}`, "Accept": "text/event-stream" }
+        if (lastEventId) headers["Last-Event-ID"] = lastEventId
+        const res = await fetch(url, { headers, signal: controller.signal })
+        if (!res.ok || !res.body) throw new Error(`Event stream failed with ${res.status}`)
+
+        const reader = res.body.pipeThrough(new TextDecoderStream()).getReader()
+        let buffer = ""
+        while (true) {
+          const { value, done } = await reader.read()
+          if (done) break
+          buffer += value
+          let end
+          while ((end = buffer.indexOf("\n\n")) >= 0) {
+            const message = parse(buffer.slice(0, end))
+            buffer = buffer.slice(end + 2)
+            if (message.id) lastEventId = message.id
+            if (message.data) onMessage(message)
+          }
+        }
+      } catch {
+        if (controller.signal.aborted) return
+      }
+      await new Promise((resolve) => setTimeout(resolve, RECONNECT_MS))
+    }
+  }
+
+  run()
+  return () => controller.abort()
+}
+
+function parse(block: string): SseMessage {
+  const message: SseMessage = { event: "message", data: "" }
+  const data: string[] = []
+  for (const line of block.split("\n")) {
+    const colon = line.indexOf(":")
+    if (colon === 0) continue
+    const field = colon < 0 ? line : line.slice(0, colon)
+    const value = colon < 0 ? "" : line.slice(colon + 1).replace(/^ /, "")
+    if (field === "id") message.id = value
+    else if (field === "event") message.event = value
+    else if (field === "data") data.push(value)
+  }
+  message.data = data.join("\n")
+  return message
+}
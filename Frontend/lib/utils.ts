@@ -4,3 +4,9 @@ import { twMerge } from "tailwind-merge"
 export function cn(...inputs: ClassValue[]) {
   return twMerge(clsx(inputs))
 }
+
+// Uploaded avatars come back as paths on the auth service, e.g. /api/avatars/<hash>.png
+export function avatarSrc(avatar: string | null | undefined, fallback: string) {
+  if (!avatar) return fallback
+  return avatar.startsWith("/api/") ? `http://localhost:8080${avatar}` : avatar
+}